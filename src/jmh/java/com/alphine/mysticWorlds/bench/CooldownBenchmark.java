@@ -0,0 +1,59 @@
+package com.alphine.mysticWorlds.bench;
+
+import com.alphine.mysticWorlds.service.DenyCooldownService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DenyCooldownService} under contention: 1 in 8 operations marks, the rest check.
+ * Thread count is the method suffix (JMH fixes threads per method, not per parameter).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CooldownBenchmark {
+    @Param({"1000", "100000"})
+    public int players;
+
+    private static final String[] WORLDS = {"world_nether", "the_end", "arena_1", "island_a"};
+
+    private DenyCooldownService cooldowns;
+    private UUID[] ids;
+
+    @Setup
+    public void setup() {
+        cooldowns = new DenyCooldownService();
+        cooldowns.setRetentionSeconds(60);
+        ids = new UUID[players];
+        var rnd = new SplittableRandom(1L);
+        for (int i = 0; i < players; i++) ids[i] = new UUID(rnd.nextLong(), rnd.nextLong());
+        for (int i = 0; i < players; i += 2) cooldowns.mark(ids[i], WORLDS[i & 3]);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        final SplittableRandom rnd = new SplittableRandom(Thread.currentThread().threadId());
+    }
+
+    private boolean step(Cursor c) {
+        int i = c.rnd.nextInt(ids.length);
+        String w = WORLDS[c.rnd.nextInt(WORLDS.length)];
+        if (c.rnd.nextInt(8) == 0) { cooldowns.mark(ids[i], w); return true; }
+        return cooldowns.isCooling(ids[i], w, 5);
+    }
+
+    @Benchmark @Threads(1)
+    public boolean mixed_1t(Cursor c) { return step(c); }
+
+    @Benchmark @Threads(4)
+    public boolean mixed_4t(Cursor c) { return step(c); }
+
+    @Benchmark @Threads(16)
+    public boolean mixed_16t(Cursor c) { return step(c); }
+}
@@ -0,0 +1,51 @@
+package com.alphine.mysticWorlds.bench;
+
+import com.alphine.mysticWorlds.config.BenchConfigs;
+import com.alphine.mysticWorlds.config.ConfigModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** {@link ConfigModel#effective} for exact, group-matched and unlisted worlds. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EffectiveBenchmark {
+    @Param({"10", "1000"})
+    public int worldCount;
+
+    @Param({"0", "10", "500"})
+    public int groupCount;
+
+    private ConfigModel model;
+    private String exact, grouped;
+    private int cold;
+
+    @Setup
+    public void setup() {
+        model = BenchConfigs.lookup(worldCount, groupCount);
+        exact = "w" + (worldCount / 2);
+        grouped = groupCount == 0 ? "nowhere" : "g" + (groupCount - 1) + "_arena";
+    }
+
+    @Benchmark
+    public ConfigModel.EffectiveRules exact() { return model.effective(exact); }
+
+    @Benchmark
+    public ConfigModel.EffectiveRules groupedMemoized() { return model.effective(grouped); }
+
+    /** First resolution of a world name (trie walk + compile); forgotten again each call. */
+    @Benchmark
+    public ConfigModel.EffectiveRules groupedCold() {
+        String w = groupCount == 0 ? "nowhere" : "g" + ((cold++ & 0x7fffffff) % groupCount) + "_x";
+        var r = model.effective(w);
+        model.forget(w);
+        return r;
+    }
+
+    @Benchmark
+    public ConfigModel.EffectiveRules unlisted() { return model.effective("unlisted_world"); }
+}
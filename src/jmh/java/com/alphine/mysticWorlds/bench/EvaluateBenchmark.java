@@ -0,0 +1,70 @@
+package com.alphine.mysticWorlds.bench;
+
+import com.alphine.mysticWorlds.config.BenchConfigs;
+import com.alphine.mysticWorlds.economy.EconomyBridge;
+import com.alphine.mysticWorlds.engine.RuleEngine;
+import com.alphine.mysticWorlds.service.AdmissionTickets;
+import com.alphine.mysticWorlds.service.BypassService;
+import com.alphine.mysticWorlds.service.DenyCooldownService;
+import com.alphine.mysticWorlds.service.GateMetrics;
+import com.alphine.mysticWorlds.service.PlaceholderCacheService;
+import com.alphine.mysticWorlds.service.TraceService;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full {@link RuleEngine#evaluate} on an allowed entry (ALL logic, every rule runs):
+ * permission, items, placeholders. No economy, so the decision completes synchronously.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluateBenchmark {
+    @Param({"36", "41"})
+    public int inventorySize;
+
+    @Param({"1", "4"})
+    public int itemSets;
+
+    @Param({"0", "4", "16"})
+    public int placeholderCount;
+
+    @Param({"true", "false"})
+    public boolean placeholderCache;
+
+    private RuleEngine engine;
+    private Player player;
+
+    @Setup
+    public void setup() {
+        Stubs.installServer();
+        var plugin = Stubs.plugin();
+        var model = BenchConfigs.gated(itemSets, placeholderCount, placeholderCache);
+        var placeholders = new PlaceholderCacheService((p, text) -> "100");
+        placeholders.updateSettings(model.placeholderCache);
+        engine = new RuleEngine(plugin, model, new EconomyBridge(), new BypassService(plugin, false),
+                new DenyCooldownService(), new AdmissionTickets(), placeholders, new TraceService(plugin), new GateMetrics());
+        player = Stubs.player(UUID.randomUUID(), "bench",
+                Stubs.inventory(Inventories.filled(inventorySize, 7L)), Set.of("mysticworlds.access.gated"));
+        if (!engine.evaluate(player, "gated", false).join().allowed()) {
+            throw new IllegalStateException("bench setup should allow entry");
+        }
+    }
+
+    @Benchmark
+    public RuleEngine.Decision evaluate() {
+        return engine.evaluate(player, "gated", false).join();
+    }
+
+    @Benchmark
+    public RuleEngine.Decision unrestricted() {
+        return engine.evaluate(player, "lobby", false).join();
+    }
+}
@@ -0,0 +1,32 @@
+package com.alphine.mysticWorlds.bench;
+
+import com.alphine.mysticWorlds.config.BenchConfigs;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/** Deterministic inventories: filler stacks with one of each wanted material (PDC-tagged) at the end. */
+final class Inventories {
+    private static final Material[] FILLER = {
+            Material.DIRT, Material.COBBLESTONE, Material.OAK_LOG, Material.TORCH,
+            Material.BREAD, Material.STONE, Material.SAND, Material.GLASS };
+
+    private Inventories() {}
+
+    static ItemStack[] filled(int size, long seed) {
+        var rnd = new SplittableRandom(seed);
+        var tagged = Stubs.pdc(Map.of(BenchConfigs.GATE_KEY, BenchConfigs.GATE_VALUE));
+        ItemStack[] slots = new ItemStack[size];
+        int wanted = Math.min(BenchConfigs.WANTED.length, size);
+        for (int i = 0; i < size - wanted; i++) {
+            if (rnd.nextInt(4) == 0) continue; // some empty slots
+            slots[i] = new Stubs.Item(FILLER[rnd.nextInt(FILLER.length)], 1 + rnd.nextInt(64), null);
+        }
+        for (int i = 0; i < wanted; i++) {
+            slots[size - wanted + i] = new Stubs.Item(BenchConfigs.WANTED[i], 1, tagged);
+        }
+        return slots;
+    }
+}
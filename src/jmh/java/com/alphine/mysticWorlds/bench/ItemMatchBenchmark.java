@@ -0,0 +1,51 @@
+package com.alphine.mysticWorlds.bench;
+
+import com.alphine.mysticWorlds.config.BenchConfigs;
+import com.alphine.mysticWorlds.config.ConfigModel;
+import com.alphine.mysticWorlds.engine.InventoryMatcher;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/** Inventory histogram + set resolution, and a single PDC-checked requirement. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMatchBenchmark {
+    @Param({"9", "36", "41"})
+    public int inventorySize;
+
+    @Param({"1", "4", "16"})
+    public int itemSets;
+
+    private Player player;
+    private ConfigModel.ItemsRule rule;
+    private ConfigModel.ItemReq pdcReq;
+    private ItemStack tagged;
+
+    @Setup
+    public void setup() {
+        ItemStack[] slots = Inventories.filled(inventorySize, 42L);
+        player = Stubs.player(UUID.randomUUID(), "bench", Stubs.inventory(slots), Set.of());
+        rule = BenchConfigs.items(itemSets);
+        pdcReq = rule.anyOf.get(0).match.get(0);
+        tagged = slots[slots.length - Math.min(BenchConfigs.WANTED.length, inventorySize)];
+    }
+
+    @Benchmark
+    public int[] match() {
+        return InventoryMatcher.match(player, rule);
+    }
+
+    @Benchmark
+    public boolean pdcAccepts() {
+        return pdcReq.accepts(tagged);
+    }
+}
@@ -0,0 +1,136 @@
+package com.alphine.mysticWorlds.bench;
+
+import com.alphine.mysticWorlds.MysticWorlds;
+import io.papermc.paper.persistence.PersistentDataContainerView;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Lightweight stand-ins for the Bukkit types the gate touches. Interfaces are dynamic
+ * proxies answering only the methods the hot paths call; anything else returns a zero value.
+ */
+final class Stubs {
+    private Stubs() {}
+
+    private static volatile boolean serverInstalled;
+
+    /** Proxy whose answers are looked up by method name. */
+    @SuppressWarnings("unchecked")
+    static <T> T proxy(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        InvocationHandler h = (self, m, args) -> {
+            var a = answers.get(m.getName());
+            if (a != null) return a.apply(args);
+            return switch (m.getName()) {
+                case "hashCode" -> System.identityHashCode(self);
+                case "equals" -> self == args[0];
+                case "toString" -> type.getSimpleName() + "Stub";
+                default -> zero(m.getReturnType());
+            };
+        };
+        return (T) Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{type}, h);
+    }
+
+    private static Object zero(Class<?> t) {
+        if (!t.isPrimitive()) return null;
+        if (t == boolean.class) return false;
+        if (t == long.class) return 0L;
+        if (t == double.class) return 0.0;
+        if (t == float.class) return 0f;
+        if (t == char.class) return '\0';
+        if (t == byte.class) return (byte) 0;
+        if (t == short.class) return (short) 0;
+        if (t == void.class) return null;
+        return 0;
+    }
+
+    /** Installs a server whose plugin manager reports PlaceholderAPI as present. */
+    static synchronized void installServer() {
+        if (serverInstalled) return;
+        Plugin papi = proxy(Plugin.class, Map.of("getName", a -> "PlaceholderAPI"));
+        PluginManager pm = proxy(PluginManager.class, Map.of(
+                "getPlugin", a -> "PlaceholderAPI".equals(a[0]) ? papi : null,
+                "isPluginEnabled", a -> true));
+        Logger log = Logger.getLogger("bench");
+        Server server = proxy(Server.class, Map.of(
+                "getPluginManager", a -> pm,
+                "getLogger", a -> log,
+                "getName", a -> "BenchServer",
+                "getVersion", a -> "bench",
+                "getBukkitVersion", a -> "bench"));
+        Bukkit.setServer(server);
+        serverInstalled = true;
+    }
+
+    static Player player(UUID id, String name, PlayerInventory inv, Set<String> perms) {
+        return proxy(Player.class, Map.of(
+                "getUniqueId", a -> id,
+                "getName", a -> name,
+                "hasPermission", a -> a[0] instanceof String s && perms.contains(s),
+                "getInventory", a -> inv,
+                "isOnline", a -> true));
+    }
+
+    static PlayerInventory inventory(ItemStack[] slots) {
+        return proxy(PlayerInventory.class, Map.of(
+                "getSize", a -> slots.length,
+                "getItem", a -> slots[(Integer) a[0]],
+                "getContents", a -> slots.clone()));
+    }
+
+    static PersistentDataContainerView pdc(Map<NamespacedKey, Object> values) {
+        return proxy(PersistentDataContainerView.class, Map.of(
+                "get", a -> values.get((NamespacedKey) a[0]),
+                "has", a -> values.containsKey((NamespacedKey) a[0]),
+                "isEmpty", a -> values.isEmpty()));
+    }
+
+    /** A stack with a fixed type/amount and an optional PDC; never touches the server. */
+    static final class Item extends ItemStack {
+        private final Material type;
+        private final int amount;
+        private final PersistentDataContainerView pdc;
+
+        Item(Material type, int amount, PersistentDataContainerView pdc) {
+            super();
+            this.type = type;
+            this.amount = amount;
+            this.pdc = pdc;
+        }
+
+        @Override public Material getType() { return type; }
+        @Override public int getAmount() { return amount; }
+        @Override public boolean hasItemMeta() { return pdc != null; }
+        @Override public PersistentDataContainerView getPersistentDataContainer() { return pdc; }
+    }
+
+    /**
+     * A plugin instance for constructors that only hold on to it. JavaPlugin refuses to be
+     * constructed outside a plugin class loader, so the instance is allocated without one.
+     */
+    static MysticWorlds plugin() {
+        try {
+            Field f = sun.misc.Unsafe.class.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            var unsafe = (sun.misc.Unsafe) f.get(null);
+            return (MysticWorlds) unsafe.allocateInstance(MysticWorlds.class);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("cannot allocate plugin stand-in", e);
+        }
+    }
+}
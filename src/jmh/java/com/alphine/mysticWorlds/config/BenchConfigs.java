@@ -0,0 +1,82 @@
+package com.alphine.mysticWorlds.config;
+
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Builds {@link ConfigModel}s for benchmarks without a plugin or YAML (lives here for {@code General.Mode}). */
+public final class BenchConfigs {
+    public static final NamespacedKey GATE_KEY = new NamespacedKey("alphine", "gate_key");
+    public static final String GATE_VALUE = "end_access";
+    /** Materials the generated item sets ask for, in order. */
+    public static final Material[] WANTED = {
+            Material.ENDER_PEARL, Material.DIAMOND, Material.EMERALD, Material.GOLD_INGOT,
+            Material.IRON_INGOT, Material.BLAZE_ROD, Material.GHAST_TEAR, Material.NETHER_STAR };
+
+    private BenchConfigs() {}
+
+    /** {@code sets} item sets of two requirements each (one PDC-checked); only the last is satisfiable by {@link #WANTED}-filled inventories. */
+    public static ConfigModel.ItemsRule items(int sets) {
+        List<ConfigModel.ItemSet> out = new ArrayList<>(sets);
+        for (int i = 0; i < sets; i++) {
+            Material a = WANTED[i % WANTED.length];
+            Material b = WANTED[(i + 1) % WANTED.length];
+            int needA = i == sets - 1 ? 1 : 64; // earlier sets ask for more than exists
+            var pdc = List.of(new ConfigModel.PdcCheck(GATE_KEY.toString(), ConfigModel.PdcCheck.Type.STRING, GATE_VALUE, GATE_KEY, 0L, Double.NaN));
+            out.add(new ConfigModel.ItemSet(List.of(
+                    new ConfigModel.ItemReq(a, needA, pdc),
+                    new ConfigModel.ItemReq(b, 1, List.of()))));
+        }
+        return new ConfigModel.ItemsRule(true, false, out, false, false, false);
+    }
+
+    /** {@code n} NUMBER_GTE checks on {@code %bench_<i>%}; every value resolves to "100". */
+    public static ConfigModel.PlaceholderRule placeholders(int n) {
+        List<ConfigModel.PlaceholderRule.Check> checks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            checks.add(new ConfigModel.PlaceholderRule.Check("%bench_" + i + "%",
+                    ConfigModel.PlaceholderRule.Check.Type.NUMBER_GTE, "50", 5_000_000L));
+        }
+        return new ConfigModel.PlaceholderRule(n > 0, checks);
+    }
+
+    /** One gated world {@code "gated"} (ALL logic: permission + items + placeholders), no economy, no cooldown. */
+    public static ConfigModel gated(int itemSets, int placeholderCount, boolean placeholderCache) {
+        var rules = new ConfigModel.Rules(
+                new ConfigModel.BypassRule(false, "mysticworlds.bypass"),
+                new ConfigModel.PermissionRule(true, true, "mysticworlds.access"),
+                items(itemSets),
+                placeholders(placeholderCount),
+                new ConfigModel.EconomyRule(false, "none", BigDecimal.ZERO, BigDecimal.ZERO, false));
+        var worlds = Map.of("gated", new ConfigModel.WorldOverride(true, 0, 0, RuleLogic.ALL, null));
+        return new ConfigModel(general(), rules, worlds, List.of(),
+                new ConfigModel.PlaceholderCache(placeholderCache, 60_000L, Map.of()));
+    }
+
+    /** {@code worldCount} exact worlds {@code w<i>} plus {@code groupCount} glob groups {@code g<i>_*}. */
+    public static ConfigModel lookup(int worldCount, int groupCount) {
+        var off = new ConfigModel.Rules(
+                new ConfigModel.BypassRule(true, "mysticworlds.bypass"),
+                new ConfigModel.PermissionRule(true, true, "mysticworlds.access"),
+                new ConfigModel.ItemsRule(false, false, List.of(), false, false, false),
+                new ConfigModel.PlaceholderRule(false, List.of()),
+                new ConfigModel.EconomyRule(false, "none", BigDecimal.ZERO, BigDecimal.ZERO, false));
+        Map<String, ConfigModel.WorldOverride> worlds = new HashMap<>();
+        for (int i = 0; i < worldCount; i++) worlds.put("w" + i, new ConfigModel.WorldOverride(true, i % 5, null, null, null));
+        List<ConfigModel.WorldGroup> groups = new ArrayList<>();
+        for (int i = 0; i < groupCount; i++) {
+            groups.add(new ConfigModel.WorldGroup("g" + i, WorldSelector.glob("g" + i + "_*"),
+                    new ConfigModel.WorldOverride(true, null, null, null, null)));
+        }
+        return new ConfigModel(general(), off, worlds, groups, new ConfigModel.PlaceholderCache(true, 3000L, Map.of()));
+    }
+
+    private static ConfigModel.General general() {
+        return new ConfigModel.General(ConfigModel.General.Mode.LISTED, RuleLogic.ANY, false, false, 0, 0, "auto");
+    }
+}
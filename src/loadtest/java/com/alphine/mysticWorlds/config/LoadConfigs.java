@@ -0,0 +1,44 @@
+package com.alphine.mysticWorlds.config;
+
+import org.bukkit.Material;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/** The model the load harness runs against (lives here for {@code General.Mode}). */
+public final class LoadConfigs {
+    public static final String FALLBACK = "world";
+    public static final String GATED = "gated";
+    public static final String EVENT = "event";
+    public static final String SCORE = "%event_score%";
+    public static final BigDecimal FEE = new BigDecimal("10");
+
+    private LoadConfigs() {}
+
+    /**
+     * {@value #FALLBACK} is unlisted (open). {@value #GATED}: permission + one ender pearl.
+     * {@value #EVENT}: {@value #SCORE} &gt;= 10 plus an on-pass fee. No deny cooldown.
+     */
+    public static ConfigModel storm() {
+        var off = rules(false, false, false, false);
+        var gated = rules(true, true, false, false);
+        var event = rules(false, false, true, true);
+        var worlds = Map.of(
+                GATED, new ConfigModel.WorldOverride(true, 0, null, RuleLogic.ALL, gated),
+                EVENT, new ConfigModel.WorldOverride(true, 0, null, RuleLogic.ALL, event));
+        var general = new ConfigModel.General(ConfigModel.General.Mode.LISTED, RuleLogic.ALL, false, true, 0, 30, "auto");
+        return new ConfigModel(general, off, worlds, List.of(), new ConfigModel.PlaceholderCache(true, 3000L, Map.of()));
+    }
+
+    private static ConfigModel.Rules rules(boolean permission, boolean items, boolean placeholder, boolean economy) {
+        return new ConfigModel.Rules(
+                new ConfigModel.BypassRule(false, "mysticworlds.bypass"),
+                new ConfigModel.PermissionRule(permission, true, "mysticworlds.access"),
+                new ConfigModel.ItemsRule(items, false, List.of(new ConfigModel.ItemSet(List.of(
+                        new ConfigModel.ItemReq(Material.ENDER_PEARL, 1, List.of())))), false, false, false),
+                new ConfigModel.PlaceholderRule(placeholder, List.of(new ConfigModel.PlaceholderRule.Check(
+                        SCORE, ConfigModel.PlaceholderRule.Check.Type.NUMBER_GTE, "10", 5_000_000L))),
+                new ConfigModel.EconomyRule(economy, economy ? "on-pass" : "none", BigDecimal.ZERO, FEE, false));
+    }
+}
@@ -0,0 +1,194 @@
+package com.alphine.mysticWorlds.loadtest;
+
+import com.alphine.mysticWorlds.config.LoadConfigs;
+import com.alphine.mysticWorlds.economy.EconomyBridge;
+import com.alphine.mysticWorlds.engine.RuleEngine;
+import com.alphine.mysticWorlds.listener.PlayerSessionListener;
+import com.alphine.mysticWorlds.listener.WorldGateListener;
+import com.alphine.mysticWorlds.service.AdmissionTickets;
+import com.alphine.mysticWorlds.service.BypassService;
+import com.alphine.mysticWorlds.service.DenyCooldownService;
+import com.alphine.mysticWorlds.service.GateMetrics;
+import com.alphine.mysticWorlds.service.PlaceholderCacheService;
+import com.alphine.mysticWorlds.service.TraceService;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Player-storm load test: drives {@link WorldGateListener} and {@link RuleEngine} on a
+ * {@link SimServer} and reports throughput, decision latency, allocation and peak store sizes.
+ * <pre>
+ * ./gradlew loadtest
+ * ./gradlew loadtest -PloadArgs="--profile portal_rush --players 2000 --economy-latency-ms 40"
+ * </pre>
+ * Options: {@code --profile all|portal_rush|mass_login|event_warp}, {@code --players},
+ * {@code --spread-ms} (profile default if unset), {@code --economy-latency-ms},
+ * {@code --placeholder-latency-ms}, {@code --warmup} (discarded rounds), {@code --seed}.
+ */
+public final class LoadTest {
+    static final String DENY_PREFIX = "DENY";
+
+    private record Options(List<Profile> profiles, int players, long spreadMillis, double economyLatencyMs,
+                           double placeholderLatencyMs, int warmup, long seed, long timeoutMillis) {
+        static Options parse(String[] args) {
+            Map<String, String> kv = new HashMap<>();
+            for (int i = 0; i + 1 < args.length; i += 2) kv.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+            String profile = kv.getOrDefault("profile", "all");
+            List<Profile> profiles = profile.equalsIgnoreCase("all") ? List.of(Profile.values())
+                    : Arrays.stream(profile.split(",")).map(Profile::from).toList();
+            return new Options(profiles,
+                    Integer.parseInt(kv.getOrDefault("players", "500")),
+                    Long.parseLong(kv.getOrDefault("spread-ms", "-1")),
+                    Double.parseDouble(kv.getOrDefault("economy-latency-ms", "20")),
+                    Double.parseDouble(kv.getOrDefault("placeholder-latency-ms", "1")),
+                    Integer.parseInt(kv.getOrDefault("warmup", "1")),
+                    Long.parseLong(kv.getOrDefault("seed", "42")),
+                    Long.parseLong(kv.getOrDefault("timeout-ms", "60000")));
+        }
+    }
+
+    private final Options opts;
+    private final SimServer sim;
+    private final GateMetrics metrics = new GateMetrics();
+
+    private LoadTest(Options opts) {
+        this.opts = opts;
+        this.sim = new SimServer(nanos(opts.economyLatencyMs()),
+                List.of(LoadConfigs.FALLBACK, LoadConfigs.GATED, LoadConfigs.EVENT));
+        var plugin = sim.plugin;
+        var model = LoadConfigs.storm();
+        long placeholderNanos = nanos(opts.placeholderLatencyMs());
+        var placeholders = new PlaceholderCacheService((p, text) -> {
+            if (placeholderNanos > 0) LockSupport.parkNanos(placeholderNanos); // expansion cost, on the caller
+            SimPlayer sp = sim.players.get(p.getUniqueId());
+            return sp == null ? "" : sp.score;
+        });
+        placeholders.updateSettings(model.placeholderCache);
+        var economy = new EconomyBridge();
+        economy.init(plugin);
+        var cooldowns = new DenyCooldownService();
+        var tickets = new AdmissionTickets();
+        var bypass = new BypassService(plugin, false);
+        var trace = new TraceService(plugin);
+        var engine = new RuleEngine(plugin, model, economy, bypass, cooldowns, tickets, placeholders, trace, metrics);
+        var gate = new WorldGateListener(plugin, engine, trace, metrics);
+        metrics.gauge("deny_cooldowns", "Players with a deny cooldown stamp.", () -> cooldowns.size());
+        metrics.gauge("admission_tickets", "Live admission tickets.", () -> tickets.size());
+        metrics.gauge("placeholder_players", "Players with cached placeholder values.", () -> placeholders.trackedPlayers());
+        sim.attach(gate, new PlayerSessionListener(placeholders, economy));
+        sim.sync(() -> {
+            gate.reloadFromConfig(model);
+            gate.refreshIndex();
+        });
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        var opts = Options.parse(args);
+        var test = new LoadTest(opts);
+        System.out.printf("MysticWorlds load test: %d players, economy %.1f ms, placeholders %.1f ms, %d warmup round(s)%n",
+                opts.players(), opts.economyLatencyMs(), opts.placeholderLatencyMs(), opts.warmup());
+        int round = 0;
+        for (Profile profile : opts.profiles()) {
+            for (int w = 0; w < opts.warmup(); w++) test.run(profile, round++, false);
+            test.run(profile, round++, true);
+        }
+        test.sim.shutdown();
+    }
+
+    private void run(Profile profile, int round, boolean report) throws InterruptedException {
+        int n = opts.players();
+        long spreadMillis = opts.spreadMillis() >= 0 ? opts.spreadMillis() : profile.defaultSpreadMillis;
+        List<SimPlayer> population = population(profile, n, new Random(opts.seed() + round), round);
+
+        var rec = new Recorder(n);
+        sim.recorder = rec;
+        metrics.reset();
+        if (profile != Profile.MASS_LOGIN) sim.sync(() -> population.forEach(sim::admit));
+
+        var sampler = new Sampler(metrics);
+        sampler.start();
+        long alloc0 = allocatedBytes();
+        rec.started();
+        profile.schedule(sim, population, spreadMillis * 1_000_000L);
+        boolean complete = rec.await(spreadMillis + opts.timeoutMillis());
+        long alloc1 = allocatedBytes();
+
+        // trailing work (pass-through moves, message hops, forced moves) settles within a few ticks
+        Thread.sleep(3 * SimServer.TICK_NANOS / 1_000_000L);
+        sim.sync(() -> { });
+        Map<String, Long> peak = sampler.finish();
+        sim.sync(() -> population.forEach(sim::quit));
+        Map<String, Long> afterQuit = metrics.gaugeValues();
+
+        if (!report) return;
+        long wall = rec.wallNanos();
+        long[] q = rec.quantiles(0.50, 0.99, 1.0);
+        System.out.printf("%n== %s: %d players over %d ms ==%n", profile.id(), n, spreadMillis);
+        System.out.printf("  settled      %d/%d (allowed %d, denied %d)%s%n", rec.settled(), n,
+                rec.allowed.sum(), rec.denied.sum(), complete ? "" : "  ** TIMED OUT **");
+        System.out.printf("  throughput   %.1f decisions/s over %.1f ms%n",
+                wall == 0 ? 0.0 : rec.settled() * 1e9 / wall, wall / 1e6);
+        System.out.printf("  latency      p50 %.3f ms  p99 %.3f ms  max %.3f ms%n", q[0] / 1e6, q[1] / 1e6, q[2] / 1e6);
+        if (alloc0 >= 0) {
+            double mb = (alloc1 - alloc0) / (1024.0 * 1024.0);
+            System.out.printf("  allocated    %.1f MB (%.1f MB/s, %.1f KB/decision)%n", mb,
+                    wall == 0 ? 0.0 : mb * 1e9 / wall, rec.settled() == 0 ? 0.0 : mb * 1024.0 / rec.settled());
+        }
+        System.out.printf("  messages     %d, forced moves %d%n", rec.messages.sum(), rec.forced.sum());
+        System.out.println("  peak sizes   " + peak);
+        System.out.println("  after quit   " + afterQuit);
+        for (String line : metrics.summary()) {
+            if (line.contains(" n=")) System.out.println("  stage " + line);
+        }
+    }
+
+    private List<SimPlayer> population(Profile profile, int n, Random rnd, int round) {
+        List<SimPlayer> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            boolean ok = rnd.nextDouble() < profile.qualifyRate;
+            UUID id = new UUID(0x4D57_0000_0000_0000L | (long) round << 16, i);
+            out.add(new SimPlayer(sim, id, "sim" + round + "_" + i, sim.spawn(profile.startWorld()),
+                    ok ? Set.of("mysticworlds.access." + LoadConfigs.GATED) : Set.of(),
+                    ok, ok ? new BigDecimal("100") : new BigDecimal("5"), ok ? "25" : "3"));
+        }
+        return out;
+    }
+
+    /** Whole-JVM allocated bytes, or -1 when the JVM can't tell. */
+    private static long allocatedBytes() {
+        var mx = ManagementFactory.getThreadMXBean();
+        return mx instanceof com.sun.management.ThreadMXBean s && s.isThreadAllocatedMemorySupported()
+                ? s.getTotalThreadAllocatedBytes() : -1L;
+    }
+
+    private static long nanos(double millis) { return (long) (millis * 1_000_000.0); }
+
+    /** Polls the gauges every millisecond and keeps the maximum of each. */
+    private static final class Sampler extends Thread {
+        private final GateMetrics metrics;
+        private final Map<String, Long> peak = new TreeMap<>();
+        private volatile boolean running = true;
+
+        Sampler(GateMetrics metrics) {
+            super("Load sampler");
+            setDaemon(true);
+            this.metrics = metrics;
+        }
+
+        @Override public void run() {
+            while (running) {
+                metrics.gaugeValues().forEach((k, v) -> peak.merge(k, v, Math::max));
+                LockSupport.parkNanos(1_000_000L);
+            }
+        }
+
+        Map<String, Long> finish() throws InterruptedException {
+            running = false;
+            join();
+            return peak;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.alphine.mysticWorlds.loadtest;
+
+import com.alphine.mysticWorlds.config.LoadConfigs;
+import org.bukkit.event.player.PlayerTeleportEvent.TeleportCause;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/** Synthetic traffic shapes. Each player acts once, spread evenly over the profile's window. */
+enum Profile {
+    /** Players in the open world step through nether portals into the gated world. */
+    PORTAL_RUSH(1000L, 0.8),
+    /** Players log in while standing in the gated world; the ones without access are moved out. */
+    MASS_LOGIN(1000L, 0.8),
+    /** An event host warps everyone into the paid event world in the same tick. */
+    EVENT_WARP(0L, 0.9);
+
+    final long defaultSpreadMillis;
+    /** Share of players that meet the target world's requirements. */
+    final double qualifyRate;
+
+    Profile(long defaultSpreadMillis, double qualifyRate) {
+        this.defaultSpreadMillis = defaultSpreadMillis;
+        this.qualifyRate = qualifyRate;
+    }
+
+    String id() { return name().toLowerCase(Locale.ROOT); }
+
+    /** World the population stands in before the profile starts. */
+    String startWorld() { return this == MASS_LOGIN ? LoadConfigs.GATED : LoadConfigs.FALLBACK; }
+
+    static Profile from(String s) { return valueOf(s.trim().toUpperCase(Locale.ROOT).replace('-', '_')); }
+
+    void schedule(SimServer s, List<SimPlayer> players, long spreadNanos) {
+        int n = players.size();
+        for (int i = 0; i < n; i++) {
+            SimPlayer p = players.get(i);
+            long at = n <= 1 ? 0L : spreadNanos * i / n;
+            s.main.schedule(() -> fire(s, p), at, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void fire(SimServer s, SimPlayer p) {
+        switch (this) {
+            case PORTAL_RUSH -> s.attempt(p, LoadConfigs.GATED, TeleportCause.NETHER_PORTAL);
+            case MASS_LOGIN -> s.join(p);
+            case EVENT_WARP -> s.attempt(p, LoadConfigs.EVENT, TeleportCause.COMMAND);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.alphine.mysticWorlds.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Per-run outcome sink: one latency sample per settled attempt or join. */
+final class Recorder {
+    private final long[] samples;
+    private final AtomicInteger n = new AtomicInteger();
+    private final CountDownLatch done;
+    final LongAdder allowed = new LongAdder(), denied = new LongAdder();
+    final LongAdder forced = new LongAdder(), messages = new LongAdder();
+    private volatile long firstAt, lastAt;
+
+    Recorder(int expected) {
+        this.samples = new long[expected];
+        this.done = new CountDownLatch(expected);
+    }
+
+    void started() { firstAt = System.nanoTime(); }
+
+    /** First outcome wins; later signals for the same attempt are ignored. */
+    void settle(SimPlayer p, boolean allow) {
+        long since = p.pendingSince.getAndSet(0L);
+        if (since == 0L) return;
+        (allow ? allowed : denied).increment();
+        sample(System.nanoTime() - since);
+    }
+
+    /** Join handlers finished; the sample is their time on the server thread. */
+    void joined(long t0) {
+        allowed.increment();
+        sample(System.nanoTime() - t0);
+    }
+
+    void forced() { forced.increment(); }
+    void message() { messages.increment(); }
+
+    private void sample(long nanos) {
+        int i = n.getAndIncrement();
+        if (i < samples.length) samples[i] = nanos;
+        lastAt = System.nanoTime();
+        done.countDown();
+    }
+
+    boolean await(long timeoutMillis) throws InterruptedException {
+        return done.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    int settled() { return Math.min(n.get(), samples.length); }
+    long wallNanos() { return Math.max(0L, lastAt - firstAt); }
+
+    /** Exact quantiles over the settled samples, in nanoseconds. */
+    long[] quantiles(double... qs) {
+        long[] sorted = Arrays.copyOf(samples, settled());
+        Arrays.sort(sorted);
+        long[] out = new long[qs.length];
+        for (int i = 0; i < qs.length; i++) {
+            out[i] = sorted.length == 0 ? 0L : sorted[Math.max(0, Math.min(sorted.length - 1, (int) Math.ceil(qs[i] * sorted.length) - 1))];
+        }
+        return out;
+    }
+}
@@ -0,0 +1,82 @@
+package com.alphine.mysticWorlds.loadtest;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/** One synthetic player: mutable location, wallet and placeholder value behind a {@link Player} proxy. */
+final class SimPlayer {
+    final UUID id;
+    final String name;
+    final Set<String> perms;
+    final String score;
+    final Player handle;
+
+    volatile Location location;
+    volatile boolean online;
+    private BigDecimal balance;
+
+    // in-flight attempt: start nanos (0 = none) and the world it targets
+    final AtomicLong pendingSince = new AtomicLong();
+    volatile String pendingWorld;
+
+    SimPlayer(SimServer server, UUID id, String name, Location at, Set<String> perms,
+              boolean pearl, BigDecimal balance, String score) {
+        this.id = id;
+        this.name = name;
+        this.perms = perms;
+        this.location = at;
+        this.balance = balance;
+        this.score = score;
+        ItemStack[] slots = new ItemStack[36];
+        if (pearl) slots[0] = new Item(Material.ENDER_PEARL, 1);
+        PlayerInventory inv = SimServer.proxy(PlayerInventory.class, Map.of(
+                "getSize", a -> slots.length,
+                "getItem", a -> slots[(Integer) a[0]],
+                "getContents", a -> slots.clone()));
+        Map<String, Function<Object[], Object>> answers = new HashMap<>();
+        answers.put("getUniqueId", a -> id);
+        answers.put("getName", a -> name);
+        answers.put("hasPermission", a -> a[0] instanceof String s && perms.contains(s));
+        answers.put("getInventory", a -> inv);
+        answers.put("getEnderChest", a -> inv);
+        answers.put("isOnline", a -> online);
+        answers.put("getWorld", a -> location.getWorld());
+        answers.put("getLocation", a -> location.clone());
+        answers.put("teleportAsync", a -> server.teleportAsync(this, (Location) a[0]));
+        for (String m : new String[]{"sendMessage", "sendActionBar", "showTitle"}) {
+            answers.put(m, a -> { server.message(this, a[0]); return null; });
+        }
+        this.handle = SimServer.proxy(Player.class, answers);
+    }
+
+    synchronized BigDecimal balance() { return balance; }
+    synchronized BigDecimal add(BigDecimal delta) { return balance = balance.add(delta); }
+
+    /** A stack with a fixed type/amount; never touches the server. */
+    static final class Item extends ItemStack {
+        private final Material type;
+        private final int amount;
+
+        Item(Material type, int amount) {
+            super();
+            this.type = type;
+            this.amount = amount;
+        }
+
+        @Override public Material getType() { return type; }
+        @Override public int getAmount() { return amount; }
+        @Override public boolean hasItemMeta() { return false; }
+        @Override public int hashCode() { return type.hashCode() * 31 + amount; }
+    }
+}
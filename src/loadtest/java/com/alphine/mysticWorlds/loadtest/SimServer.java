@@ -0,0 +1,352 @@
+package com.alphine.mysticWorlds.loadtest;
+
+import com.alphine.mysticWorlds.MysticWorlds;
+import com.alphine.mysticWorlds.listener.PlayerSessionListener;
+import com.alphine.mysticWorlds.listener.WorldGateListener;
+import io.papermc.paper.threadedregions.scheduler.AsyncScheduler;
+import io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler;
+import io.papermc.paper.threadedregions.scheduler.RegionScheduler;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import net.kyori.adventure.title.Title;
+import net.thenextlvl.service.api.economy.Account;
+import net.thenextlvl.service.api.economy.EconomyController;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.ServicesManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.spigotmc.event.player.PlayerSpawnLocationEvent;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.InetAddress;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * A headless Paper stand-in: one "server thread" executor runs events and scheduled tasks
+ * (ticks are 50 ms of wall time), worlds and players are proxies, and the only economy is a
+ * ServiceIO controller whose account loads complete after a configurable delay on an I/O pool.
+ */
+final class SimServer {
+    static final long TICK_NANOS = 50_000_000L;
+
+    final ScheduledExecutorService main = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "Server thread"));
+    private final ScheduledExecutorService io = Executors.newScheduledThreadPool(4, r -> daemon(r, "Economy I/O"));
+    private final ExecutorService login = Executors.newFixedThreadPool(4, r -> daemon(r, "User Authenticator"));
+    private volatile Thread mainThread;
+
+    private final Map<String, World> worlds = new ConcurrentHashMap<>();
+    final Map<UUID, SimPlayer> players = new ConcurrentHashMap<>();
+    private final Logger log = Logger.getLogger("MysticWorlds-LoadTest");
+    private final long economyLatencyNanos;
+
+    final Server server;
+    final MysticWorlds plugin;
+    Recorder recorder;
+    private WorldGateListener gate;
+    private PlayerSessionListener session;
+
+    SimServer(long economyLatencyNanos, List<String> worldNames) {
+        this.economyLatencyNanos = economyLatencyNanos;
+        main.execute(() -> mainThread = Thread.currentThread());
+        for (String w : worldNames) worlds.put(w, world(w));
+
+        Plugin papi = proxy(Plugin.class, Map.of("getName", a -> "PlaceholderAPI"));
+        PluginManager pm = proxy(PluginManager.class, Map.of(
+                "getPlugin", a -> "PlaceholderAPI".equals(a[0]) ? papi : null,
+                "isPluginEnabled", a -> true));
+        EconomyController economy = proxy(EconomyController.class, Map.of(
+                "getAccount", a -> Optional.empty(), // never resident: every first lookup pays the load latency
+                "tryGetAccount", a -> load(a[0]).thenApply(Optional::of),
+                "createAccount", a -> load(a[0])));
+        ServicesManager services = proxy(ServicesManager.class, Map.of(
+                "load", a -> a[0] == EconomyController.class ? economy : null));
+
+        BukkitScheduler scheduler = proxy(BukkitScheduler.class, Map.of(
+                "runTask", a -> { main.execute(() -> run(a[1])); return null; },
+                "runTaskLater", a -> { later(a[1], (Long) a[2]); return null; },
+                "runTaskAsynchronously", a -> { io.execute(() -> run(a[1])); return null; },
+                "runTaskTimer", a -> proxy(BukkitTask.class, cancels(timer(a[1], (Long) a[2], (Long) a[3])))));
+        GlobalRegionScheduler global = proxy(GlobalRegionScheduler.class, Map.of(
+                "execute", a -> { main.execute(() -> run(a[1])); return null; },
+                "run", a -> { main.execute(() -> run(a[1])); return null; },
+                "runDelayed", a -> { later(a[1], (Long) a[2]); return null; },
+                "runAtFixedRate", a -> proxy(ScheduledTask.class, cancels(timer(a[1], (Long) a[2], (Long) a[3])))));
+        RegionScheduler region = proxy(RegionScheduler.class, Map.of(
+                "execute", a -> { main.execute(() -> run(a[a.length - 1])); return null; }));
+        AsyncScheduler async = proxy(AsyncScheduler.class, Map.of(
+                "runNow", a -> { io.execute(() -> run(a[1])); return null; }));
+
+        Map<String, Function<Object[], Object>> answers = new HashMap<>();
+        answers.put("getPluginManager", a -> pm);
+        answers.put("getServicesManager", a -> services);
+        answers.put("getScheduler", a -> scheduler);
+        answers.put("getGlobalRegionScheduler", a -> global);
+        answers.put("getRegionScheduler", a -> region);
+        answers.put("getAsyncScheduler", a -> async);
+        answers.put("getWorlds", a -> List.copyOf(worlds.values()));
+        answers.put("getWorld", a -> a[0] instanceof UUID id
+                ? worlds.values().stream().filter(w -> w.getUID().equals(id)).findFirst().orElse(null)
+                : worlds.get((String) a[0]));
+        answers.put("getPlayer", a -> {
+            SimPlayer p = a[0] instanceof UUID id ? players.get(id) : null;
+            return p == null ? null : p.handle;
+        });
+        answers.put("getOnlinePlayers", a -> players.values().stream().map(p -> p.handle).toList());
+        answers.put("isPrimaryThread", a -> Thread.currentThread() == mainThread);
+        answers.put("getLogger", a -> log);
+        answers.put("getName", a -> "LoadTestServer");
+        answers.put("getVersion", a -> "loadtest");
+        answers.put("getBukkitVersion", a -> "1.21.6-R0.1-SNAPSHOT");
+        answers.put("getMinecraftVersion", a -> "1.21.6");
+        this.server = proxy(Server.class, answers);
+        Bukkit.setServer(server);
+        this.plugin = plugin();
+    }
+
+    void attach(WorldGateListener gate, PlayerSessionListener session) {
+        this.gate = gate;
+        this.session = session;
+    }
+
+    World world(String name) {
+        World existing = worlds.get(name);
+        if (existing != null) return existing;
+        UUID uid = UUID.nameUUIDFromBytes(("world:" + name).getBytes());
+        World[] self = new World[1];
+        self[0] = proxy(World.class, Map.of(
+                "getName", a -> name,
+                "getUID", a -> uid,
+                "getSpawnLocation", a -> new Location(self[0], 0.5, 64, 0.5)));
+        return self[0];
+    }
+
+    Location spawn(String world) { return worlds.get(world).getSpawnLocation(); }
+
+    /* ===================== traffic (server thread) ===================== */
+
+    /** Adds a player without a join event (already online when the profile starts). */
+    void admit(SimPlayer p) {
+        p.online = true;
+        players.put(p.id, p);
+    }
+
+    /** Login as Paper runs it: pre-login on an authenticator thread, then placement and join on the server thread. */
+    @SuppressWarnings("deprecation")
+    void join(SimPlayer p) {
+        long t0 = System.nanoTime();
+        players.put(p.id, p); // known to the economy from pre-login on, online once admitted
+        login.execute(() -> {
+            session.onPreLogin(new AsyncPlayerPreLoginEvent(p.name, InetAddress.getLoopbackAddress(), p.id));
+            main.execute(() -> {
+                admit(p);
+                var spawn = new PlayerSpawnLocationEvent(p.handle, p.location);
+                gate.onSpawn(spawn);
+                if (spawn.getSpawnLocation().getWorld() != p.location.getWorld()) recorder.forced();
+                p.location = spawn.getSpawnLocation().clone();
+                var e = new PlayerJoinEvent(p.handle, (Component) null);
+                session.onJoin(e);
+                gate.onJoin(e);
+                recorder.joined(t0);
+            });
+        });
+    }
+
+    void quit(SimPlayer p) {
+        var e = new PlayerQuitEvent(p.handle, (Component) null, PlayerQuitEvent.QuitReason.DISCONNECTED);
+        gate.onQuit(e);
+        session.onQuit(e);
+        p.online = false;
+        players.remove(p.id);
+    }
+
+    /** A player-initiated cross-world move (portal, command warp); settles on allow, deny copy or re-issue. */
+    void attempt(SimPlayer p, String world, PlayerTeleportEvent.TeleportCause cause) {
+        p.pendingWorld = world;
+        p.pendingSince.set(System.nanoTime());
+        if (move(p, spawn(world), cause)) recorder.settle(p, true);
+    }
+
+    private boolean move(SimPlayer p, Location to, PlayerTeleportEvent.TeleportCause cause) {
+        Location from = p.location;
+        var e = new PlayerTeleportEvent(p.handle, from, to, cause);
+        gate.onTo(e);
+        if (e.isCancelled()) return false;
+        p.location = to.clone();
+        if (from.getWorld() != to.getWorld()) gate.onChangedWorld(new PlayerChangedWorldEvent(p.handle, from.getWorld()));
+        return true;
+    }
+
+    /** Plugin-issued teleport: the decision is in when the re-issue targets the pending world. */
+    CompletableFuture<Boolean> teleportAsync(SimPlayer p, Location to) {
+        if (to.getWorld().getName().equals(p.pendingWorld)) recorder.settle(p, true);
+        else recorder.forced();
+        var f = new CompletableFuture<Boolean>();
+        main.execute(() -> f.complete(move(p, to, PlayerTeleportEvent.TeleportCause.PLUGIN)));
+        return f;
+    }
+
+    void message(SimPlayer p, Object content) {
+        Component c = content instanceof Title t ? t.title() : content instanceof Component comp ? comp : Component.text(String.valueOf(content));
+        recorder.message();
+        if (PlainTextComponentSerializer.plainText().serialize(c).startsWith(LoadTest.DENY_PREFIX)) recorder.settle(p, false);
+    }
+
+    /* ===================== economy ===================== */
+
+    private CompletableFuture<Account> load(Object who) {
+        UUID id = who instanceof OfflinePlayer op ? op.getUniqueId() : (UUID) who;
+        // looked up per call: a pre-login load happens before the player is admitted
+        Function<BigDecimal, BigDecimal> add = d -> {
+            SimPlayer p = players.get(id);
+            return p == null ? BigDecimal.ZERO : p.add(d);
+        };
+        Account account = proxy(Account.class, Map.of(
+                "getBalance", a -> add.apply(BigDecimal.ZERO),
+                "withdraw", a -> add.apply(new BigDecimal(a[0].toString()).negate()),
+                "deposit", a -> add.apply(new BigDecimal(a[0].toString())),
+                "getOwner", a -> id));
+        if (economyLatencyNanos <= 0) return CompletableFuture.completedFuture(account);
+        return CompletableFuture.supplyAsync(() -> account,
+                CompletableFuture.delayedExecutor(economyLatencyNanos, TimeUnit.NANOSECONDS, io));
+    }
+
+    /* ===================== plumbing ===================== */
+
+    /** Runs {@code r} on the server thread and waits for it. */
+    void sync(Runnable r) {
+        try {
+            main.submit(r).get(60, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("server thread task failed", e);
+        }
+    }
+
+    void shutdown() {
+        main.shutdownNow();
+        io.shutdownNow();
+        login.shutdownNow();
+    }
+
+    private void later(Object task, long ticks) {
+        main.schedule(() -> run(task), Math.max(0L, ticks) * TICK_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    private ScheduledFuture<?> timer(Object task, long delayTicks, long periodTicks) {
+        return main.scheduleAtFixedRate(() -> run(task), Math.max(1L, delayTicks) * TICK_NANOS,
+                Math.max(1L, periodTicks) * TICK_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    private static Map<String, Function<Object[], Object>> cancels(ScheduledFuture<?> f) {
+        return Map.of("cancel", a -> { f.cancel(false); return null; }, "isCancelled", a -> f.isCancelled());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void run(Object task) {
+        if (task instanceof Runnable r) r.run();
+        else if (task instanceof Consumer<?> c) ((Consumer<Object>) c).accept(null);
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    /** Proxy whose answers are looked up by method name; anything else returns a zero value. */
+    @SuppressWarnings("unchecked")
+    static <T> T proxy(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        InvocationHandler h = (self, m, args) -> {
+            var a = answers.get(m.getName());
+            if (a != null) return a.apply(args == null ? new Object[0] : args);
+            return switch (m.getName()) {
+                case "hashCode" -> System.identityHashCode(self);
+                case "equals" -> self == args[0];
+                case "toString" -> type.getSimpleName() + "Sim";
+                default -> zero(m.getReturnType());
+            };
+        };
+        return (T) Proxy.newProxyInstance(SimServer.class.getClassLoader(), new Class<?>[]{type}, h);
+    }
+
+    private static Object zero(Class<?> t) {
+        if (!t.isPrimitive() || t == void.class) return null;
+        if (t == boolean.class) return false;
+        if (t == long.class) return 0L;
+        if (t == double.class) return 0.0;
+        if (t == float.class) return 0f;
+        if (t == char.class) return '\0';
+        if (t == byte.class) return (byte) 0;
+        if (t == short.class) return (short) 0;
+        return 0;
+    }
+
+    /**
+     * A plugin instance outside a plugin class loader: allocated without a constructor, then
+     * given the server, a logger, a data folder and the harness message config.
+     */
+    private MysticWorlds plugin() {
+        try {
+            Field f = sun.misc.Unsafe.class.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            var unsafe = (sun.misc.Unsafe) f.get(null);
+            var p = (MysticWorlds) unsafe.allocateInstance(MysticWorlds.class);
+
+            var cfg = new YamlConfiguration();
+            cfg.set("general.fallback-world", com.alphine.mysticWorlds.config.LoadConfigs.FALLBACK);
+            cfg.set("messages.prefix", "");
+            cfg.set("messages.denied", LoadTest.DENY_PREFIX + " {world}");
+            cfg.set("messages.repeat-channel", "actionbar"); // every deny stays observable
+            File data = Files.createTempDirectory("mysticworlds-loadtest").toFile();
+            data.deleteOnExit();
+
+            setField(p, "server", server);
+            setField(p, "logger", log);
+            setField(p, "newConfig", cfg);
+            setField(p, "dataFolder", data);
+            return p;
+        } catch (ReflectiveOperationException | java.io.IOException e) {
+            throw new IllegalStateException("cannot build plugin stand-in", e);
+        }
+    }
+
+    private static void setField(Object target, String name, Object value) throws IllegalAccessException {
+        for (Class<?> c = target.getClass(); c != null; c = c.getSuperclass()) {
+            try {
+                Field f = c.getDeclaredField(name);
+                f.setAccessible(true);
+                f.set(target, value);
+                return;
+            } catch (NoSuchFieldException ignore) {
+                // walk up to JavaPlugin
+            }
+        }
+    }
+}
@@ -6,34 +6,60 @@ import com.alphine.mysticWorlds.config.ConfigLoader;
 import com.alphine.mysticWorlds.config.ConfigModel;
 import com.alphine.mysticWorlds.economy.EconomyBridge;
 import com.alphine.mysticWorlds.engine.RuleEngine;
+import com.alphine.mysticWorlds.listener.PlayerSessionListener;
 import com.alphine.mysticWorlds.listener.WorldGateListener;
+import com.alphine.mysticWorlds.service.AdmissionTickets;
 import com.alphine.mysticWorlds.service.BypassService;
+import com.alphine.mysticWorlds.service.ConfigWatcher;
 import com.alphine.mysticWorlds.service.DenyCooldownService;
+import com.alphine.mysticWorlds.service.GateMetrics;
+import com.alphine.mysticWorlds.service.PlaceholderCacheService;
+import com.alphine.mysticWorlds.service.TraceService;
 import com.tcoded.folialib.FoliaLib;
 import io.papermc.lib.PaperLib;
 import org.bukkit.Bukkit;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.util.function.Consumer;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public final class MysticWorlds extends JavaPlugin {
     private ConfigModel configModel;
     private EconomyBridge economy;
     private BypassService bypass;
     private DenyCooldownService cooldowns;
+    private final AdmissionTickets tickets = new AdmissionTickets();
+    private final PlaceholderCacheService placeholders = new PlaceholderCacheService();
+    private final GateMetrics metrics = new GateMetrics();
     private RuleEngine engine;
 
+    // async reload: parse state guarded by reloadLock; liveConfig is what liveConfig() serves
+    private final Object reloadLock = new Object();
+    private ConfigModel lastParsed;
+    private int lastConfigHash;
+    private volatile FileConfiguration liveConfig;
+    private final ConfigWatcher watcher = new ConfigWatcher(this,
+            new File(getDataFolder(), "config.yml").toPath(), () -> reloadAsync(false).thenAccept(r -> {
+                if (r.applied()) getLogger().info("config.yml changed: reloaded (" + r.changedWorlds() + " world(s) changed)");
+            }));
+
     private WorldGateListener gateListener;
     private FoliaLib folia;
     private com.alphine.mysticWorlds.listener.PostStartupReporter reporter;
 
-    private boolean debug;
-
-    // Central debug logger
-    private final Consumer<String> dlog = msg -> {
-        if (debug) getLogger().info("[DEBUG] " + msg);
-    };
-    public Consumer<String> dlog() { return dlog; }
+    // Central debug tracer (gated, buffered, drained off-thread)
+    private final TraceService trace = new TraceService(this);
+    public TraceService tracer() { return trace; }
 
     @Override
     public void onEnable() {
@@ -45,6 +71,7 @@ public final class MysticWorlds extends JavaPlugin {
         }
 
         saveDefaultConfig();
+        trace.start();
         reload(); // builds/updates engine + logs effective rules next tick
 
         // Listeners
@@ -52,17 +79,20 @@ public final class MysticWorlds extends JavaPlugin {
         folia = new FoliaLib(this);
 
         // Build ONE gate listener, register, then index it
-        gateListener = new WorldGateListener(this, engine, dlog());
+        gateListener = new WorldGateListener(this, engine, trace, metrics);
         getServer().getPluginManager().registerEvents(gateListener, this);
         getServer().getPluginManager().registerEvents(reporter, this);
+        getServer().getPluginManager().registerEvents(new PlayerSessionListener(placeholders, economy), this);
 
         // Commands
         CommandManager cm = new CommandManager(this);
         cm.register(new HelpSub(cm));
         cm.register(new BypassSub(this, bypass)); // pass plugin for messages
+        cm.register(new BypassDataSub(this, bypass));
         cm.register(new ReloadSub(this));
-        cm.register(new DebugSub(this));
-        cm.register(new ProbeSub(this, engine, dlog()));
+        cm.register(new DebugSub(trace));
+        cm.register(new StatsSub(metrics));
+        cm.register(new ProbeSub(this, engine, placeholders, trace));
         cm.bind("mysticworlds");
 
         // After registering listeners/commands
@@ -75,11 +105,11 @@ public final class MysticWorlds extends JavaPlugin {
         getServer().getPluginManager().registerEvents(new org.bukkit.event.Listener() {
             @org.bukkit.event.EventHandler
             public void onWorldLoad(org.bukkit.event.world.WorldLoadEvent e) {
-                gateListener.refreshIndex();
+                gateListener.onWorldLoaded(e.getWorld());
             }
-            @org.bukkit.event.EventHandler
+            @org.bukkit.event.EventHandler(priority = org.bukkit.event.EventPriority.MONITOR, ignoreCancelled = true)
             public void onWorldUnload(org.bukkit.event.world.WorldUnloadEvent e) {
-                gateListener.refreshIndex();
+                gateListener.onWorldUnloaded(e.getWorld());
             }
         }, this);
 
@@ -90,24 +120,105 @@ public final class MysticWorlds extends JavaPlugin {
         Bukkit.getGlobalRegionScheduler().runDelayed(this, task -> reporter.dump("Fallback: runTaskLater"), 60L);
     }
 
+    /** Synchronous load (startup): parse, compile and publish on the calling thread. */
     public void reload() {
         reloadConfig();
-        configModel = new ConfigLoader(this).load();
+        liveConfig = null;
+        synchronized (reloadLock) {
+            lastParsed = new ConfigLoader(this).load();
+            lastConfigHash = configHash();
+        }
+        apply(lastParsed, null);
+    }
+
+    /** Outcome of an asynchronous reload. {@code error} is set (and nothing changed) when the file was rejected. */
+    public record ReloadResult(boolean applied, int changedWorlds, long tookMillis, String error) {}
+
+    /**
+     * Parses and compiles config.yml off-thread, diffs it against the current model, then
+     * publishes on the global region in one step, re-indexing only worlds whose plan changed.
+     * A file that fails to parse or compile leaves the live model untouched.
+     *
+     * @param force reload even if the file bytes are unchanged since the last load
+     */
+    public CompletableFuture<ReloadResult> reloadAsync(boolean force) {
+        var result = new CompletableFuture<ReloadResult>();
+        Bukkit.getAsyncScheduler().runNow(this, task -> {
+            long t0 = System.nanoTime();
+            // serialised: publishes are queued on the global region in parse order
+            synchronized (reloadLock) {
+                try {
+                    File file = new File(getDataFolder(), "config.yml");
+                    byte[] raw = Files.readAllBytes(file.toPath());
+                    int hash = Arrays.hashCode(raw);
+                    if (!force && hash == lastConfigHash) {
+                        result.complete(new ReloadResult(false, 0, elapsedMillis(t0), null));
+                        return;
+                    }
+                    YamlConfiguration yaml = new YamlConfiguration();
+                    yaml.loadFromString(new String(raw, StandardCharsets.UTF_8));
+                    try (var in = getResource("config.yml")) {
+                        if (in != null) yaml.setDefaults(YamlConfiguration.loadConfiguration(new InputStreamReader(in, StandardCharsets.UTF_8)));
+                    }
+                    ConfigModel next = new ConfigLoader(this).load(yaml);
+                    Set<String> known = gateListener != null ? gateListener.indexedWorlds() : Set.of();
+                    Set<String> changed = ConfigModel.changedWorlds(lastParsed, next, known);
+                    lastParsed = next;
+                    lastConfigHash = hash;
+                    Bukkit.getGlobalRegionScheduler().execute(this, () -> {
+                        liveConfig = yaml;
+                        apply(next, changed);
+                        result.complete(new ReloadResult(true, changed.size(), elapsedMillis(t0), null));
+                    });
+                } catch (IOException | InvalidConfigurationException | RuntimeException e) {
+                    getLogger().warning("Config reload rejected, keeping the current config: " + e.getMessage());
+                    result.complete(new ReloadResult(false, 0, elapsedMillis(t0), String.valueOf(e.getMessage())));
+                }
+            }
+        });
+        return result;
+    }
+
+    /** Publishes a compiled model. {@code changed == null} means rebuild everything (startup). */
+    private void apply(ConfigModel next, Set<String> changed) {
+        configModel = next;
         if (economy == null) { economy = new EconomyBridge(); economy.init(this); }
         if (bypass == null)  { bypass  = new BypassService(this, configModel.general.rememberBypass); }
-        if (cooldowns == null) cooldowns = new DenyCooldownService();
-        if (engine == null) engine = new RuleEngine(this, configModel, economy, bypass, cooldowns, dlog());
+        if (cooldowns == null) {
+            cooldowns = new DenyCooldownService();
+            // expired deny stamps are dropped here so the store stays bounded over long uptimes
+            Bukkit.getAsyncScheduler().runAtFixedRate(this, task -> {
+                cooldowns.sweep();
+                tickets.sweep();
+            }, 1, 1, TimeUnit.MINUTES);
+            metrics.gauge("deny_cooldowns", "Players with a deny cooldown stamp.", () -> cooldowns.size());
+            metrics.gauge("admission_tickets", "Live admission tickets.", () -> tickets.size());
+            metrics.gauge("bypass_players", "Players with bypass on.", () -> bypass.size());
+            metrics.gauge("placeholder_players", "Players with cached placeholder values.", () -> placeholders.trackedPlayers());
+            metrics.gauge("economy_holds", "Players with an open on-attempt fee hold.", () -> economy.holds());
+        }
+        cooldowns.setRetentionSeconds(configModel.maxDenyCooldownSeconds());
+        placeholders.updateSettings(configModel.placeholderCache);
+        metrics.setEnabled(liveConfig().getBoolean("metrics.enabled", true));
+        metrics.serve(this, metrics.enabled() && liveConfig().getBoolean("metrics.prometheus.enabled", false)
+                ? liveConfig().getInt("metrics.prometheus.port", 9464) : 0);
+        if (engine == null) engine = new RuleEngine(this, configModel, economy, bypass, cooldowns, tickets, placeholders, trace, metrics);
         else engine.updateModel(configModel);
 
         // After model changes, refresh the index if the listener already exists
         if (gateListener != null) {
-            gateListener.refreshIndex();
+            if (changed == null) gateListener.refreshIndex();
+            else gateListener.reindex(changed);
             gateListener.reloadFromConfig(configModel);
         }
 
-        // Folia-safe: log effective rules next tick on the global region
+        if (liveConfig().getBoolean("general.watch-config", false)) watcher.start();
+        else watcher.stop();
+
+        // Folia-safe: log effective rules next tick on the global region (only what changed on a diffed reload)
         Bukkit.getGlobalRegionScheduler().run(this, task -> {
             getServer().getWorlds().forEach(w -> {
+                if (changed != null && !changed.contains(w.getName())) return;
                 var eff = engine.model().effective(w.getName());
                 getLogger().info("[EFFECTIVE] " + w.getName()
                         + " restricted=" + eff.restricted()
@@ -121,16 +232,34 @@ public final class MysticWorlds extends JavaPlugin {
         });
     }
 
-    // Debug toggle used by /mysticworlds debug
-    public boolean isDebug() { return debug; }
-    public void setDebug(boolean v) { this.debug = v; }
+    /**
+     * The config published by the last async reload, else the one Bukkit loaded. Read settings
+     * through this; {@link #getConfig()} stays Bukkit's own copy, so save/reload behave as usual.
+     */
+    public FileConfiguration liveConfig() {
+        var live = liveConfig;
+        return live != null ? live : getConfig();
+    }
+
+    private int configHash() {
+        try {
+            return Arrays.hashCode(Files.readAllBytes(new File(getDataFolder(), "config.yml").toPath()));
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long elapsedMillis(long t0) { return (System.nanoTime() - t0) / 1_000_000L; }
 
     @Override
     public void onDisable() {
-        // Flush the Bypass Users on Disable as needed
+        // Flush + compact the bypass journal and stop its writer
         if (bypass != null) {
-            bypass.flush();
+            bypass.close();
         }
+        watcher.stop();
+        metrics.stopServing();
+        trace.stop();
     }
 
     /* ================== runtime checks ================== */
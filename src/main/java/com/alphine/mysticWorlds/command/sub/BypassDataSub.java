@@ -0,0 +1,71 @@
+package com.alphine.mysticWorlds.command.sub;
+
+import com.alphine.mysticWorlds.command.Subcommand;
+import com.alphine.mysticWorlds.service.BypassService;
+import com.alphine.mysticWorlds.util.Msg;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/** Bulk bypass import/export; files are streamed off-thread and confined to the plugin folder. */
+public final class BypassDataSub implements Subcommand {
+    private final JavaPlugin plugin;
+    private final BypassService bypass;
+
+    public BypassDataSub(JavaPlugin plugin, BypassService bypass) {
+        this.plugin = plugin;
+        this.bypass = bypass;
+    }
+
+    @Override public String name() { return "bypassdata"; }
+    @Override public List<String> aliases() { return List.of("bpd"); }
+    @Override public String permission() { return "mysticworlds.bypass.admin"; }
+    @Override public String description() { return "Bulk bypass: import <file> [on|off] | export <file>."; }
+    @Override public boolean playerOnly() { return false; }
+
+    @Override public boolean execute(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            sender.sendMessage(Msg.mm("<yellow>Usage: /mw bypassdata import <file> [on|off] | export <file></yellow>"));
+            return true;
+        }
+        Path root = plugin.getDataFolder().toPath().toAbsolutePath().normalize();
+        Path file = root.resolve(args[1]).normalize();
+        if (!file.startsWith(root)) {
+            sender.sendMessage(Msg.mm("<red>File must be inside the plugin folder.</red>"));
+            return true;
+        }
+        String op = args[0].toLowerCase();
+        boolean on = args.length < 3 || !args[2].equalsIgnoreCase("off");
+        Bukkit.getAsyncScheduler().runNow(plugin, task -> {
+            long start = System.currentTimeMillis();
+            try {
+                switch (op) {
+                    case "import" -> {
+                        long n = bypass.importFrom(file, on);
+                        bypass.flush();
+                        sender.sendMessage(Msg.mm("<green>Imported " + n + " UUIDs (bypass " + (on ? "on" : "off")
+                                + ") in " + (System.currentTimeMillis() - start) + " ms.</green>"));
+                    }
+                    case "export" -> {
+                        long n = bypass.exportTo(file);
+                        sender.sendMessage(Msg.mm("<green>Exported " + n + " UUIDs to " + root.relativize(file)
+                                + " in " + (System.currentTimeMillis() - start) + " ms.</green>"));
+                    }
+                    default -> sender.sendMessage(Msg.mm("<red>Unknown action: " + op + "</red>"));
+                }
+            } catch (Exception e) {
+                sender.sendMessage(Msg.mm("<red>Bypass " + op + " failed: " + e.getMessage() + "</red>"));
+            }
+        });
+        return true;
+    }
+
+    @Override public List<String> tabComplete(CommandSender sender, String[] args) {
+        if (args.length == 1) return List.of("import", "export");
+        if (args.length == 3 && args[0].equalsIgnoreCase("import")) return List.of("on", "off");
+        return List.of();
+    }
+}
@@ -1,19 +1,19 @@
 package com.alphine.mysticWorlds.command.sub;
 
+import com.alphine.mysticWorlds.MysticWorlds;
 import com.alphine.mysticWorlds.command.Subcommand;
 import com.alphine.mysticWorlds.service.BypassService;
 import com.alphine.mysticWorlds.util.Msg;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.List;
 
 public final class BypassSub implements Subcommand {
-    private final JavaPlugin plugin;
+    private final MysticWorlds plugin;
     private final BypassService bypass;
 
-    public BypassSub(JavaPlugin plugin, BypassService bypass) {
+    public BypassSub(MysticWorlds plugin, BypassService bypass) {
         this.plugin = plugin;
         this.bypass = bypass;
     }
@@ -32,7 +32,7 @@ public final class BypassSub implements Subcommand {
             case "off","disable","false" -> bypass.set(p.getUniqueId(), false);
             default -> bypass.toggle(p.getUniqueId());
         };
-        var cfg = plugin.getConfig();
+        var cfg = plugin.liveConfig();
         var prefix = cfg.getString("messages.prefix", "");
         var path = state ? "messages.bypass_on" : "messages.bypass_off";
         p.sendMessage(Msg.mm(prefix + cfg.getString(path, state ? "<green>Bypass enabled.</green>" : "<yellow>Bypass disabled.</yellow>")));
@@ -1,35 +1,55 @@
 package com.alphine.mysticWorlds.command.sub;
 
-import com.alphine.mysticWorlds.MysticWorlds;
 import com.alphine.mysticWorlds.command.Subcommand;
+import com.alphine.mysticWorlds.service.TraceService;
 import com.alphine.mysticWorlds.util.Msg;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 
 import java.util.List;
+import java.util.Locale;
 
 public final class DebugSub implements Subcommand {
-    private final MysticWorlds plugin;
-    public DebugSub(MysticWorlds plugin) { this.plugin = plugin; }
+    private final TraceService trace;
+    public DebugSub(TraceService trace) { this.trace = trace; }
 
     @Override public String name() { return "debug"; }
     @Override public List<String> aliases() { return List.of("dbg"); }
     @Override public String permission() { return "mysticworlds.debug"; }
-    @Override public String description() { return "Toggle debug logging: on/off/toggle."; }
+    @Override public String description() { return "Debug tracing: on/off/toggle, player <name>, world <name>."; }
     @Override public boolean playerOnly() { return false; }
 
     @Override public boolean execute(CommandSender sender, String[] args) {
-        String mode = args.length == 0 ? "toggle" : args[0].toLowerCase();
-        boolean state = switch (mode) {
-            case "on", "enable", "true" -> { plugin.setDebug(true); yield true; }
-            case "off", "disable", "false" -> { plugin.setDebug(false); yield false; }
-            default -> { plugin.setDebug(!plugin.isDebug()); yield plugin.isDebug(); }
-        };
-        sender.sendMessage(Msg.mm("<gray>Debug:</gray> " + (state ? "<green>ON</green>" : "<red>OFF</red>")));
+        String mode = args.length == 0 ? "toggle" : args[0].toLowerCase(Locale.ROOT);
+        switch (mode) {
+            case "on", "enable", "true" -> trace.enableAll();
+            case "off", "disable", "false" -> trace.disable();
+            case "player", "p" -> {
+                if (args.length < 2) { sender.sendMessage(Msg.mm("<red>Usage: debug player <name></red>")); return true; }
+                Player target = Bukkit.getPlayerExact(args[1]);
+                if (target == null) { sender.sendMessage(Msg.mm("<red>Player not found:</red> <white>" + args[1] + "</white>")); return true; }
+                trace.enableFor(target.getUniqueId(), target.getName());
+            }
+            case "world", "w" -> {
+                if (args.length < 2) { sender.sendMessage(Msg.mm("<red>Usage: debug world <name></red>")); return true; }
+                trace.enableForWorld(args[1]);
+            }
+            case "status" -> { /* just report */ }
+            default -> { if (trace.enabled()) trace.disable(); else trace.enableAll(); }
+        }
+        sender.sendMessage(Msg.mm("<gray>Debug:</gray> " + (trace.enabled()
+                ? "<green>" + trace.describe() + "</green>" : "<red>OFF</red>")));
         return true;
     }
 
     @Override public List<String> tabComplete(CommandSender sender, String[] args) {
-        if (args.length == 1) return List.of("on","off","toggle");
+        if (args.length == 1) return List.of("on","off","toggle","player","world","status");
+        if (args.length == 2 && args[0].equalsIgnoreCase("player"))
+            return Bukkit.getOnlinePlayers().stream().map(Player::getName).sorted().toList();
+        if (args.length == 2 && args[0].equalsIgnoreCase("world"))
+            return Bukkit.getWorlds().stream().map(World::getName).sorted().toList();
         return List.of();
     }
 }
@@ -4,8 +4,9 @@ import com.alphine.mysticWorlds.MysticWorlds;
 import com.alphine.mysticWorlds.command.Subcommand;
 import com.alphine.mysticWorlds.config.ConfigModel;
 import com.alphine.mysticWorlds.engine.RuleEngine;
+import com.alphine.mysticWorlds.service.PlaceholderCacheService;
+import com.alphine.mysticWorlds.service.TraceService;
 import com.alphine.mysticWorlds.util.Msg;
-import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.command.CommandSender;
@@ -14,18 +15,19 @@ import org.bukkit.entity.Player;
 import java.math.BigDecimal;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public final class ProbeSub implements Subcommand {
     private final MysticWorlds plugin;
     private final RuleEngine engine;
-    private final Consumer<String> dlog;
+    private final PlaceholderCacheService placeholders;
+    private final TraceService trace;
 
-    public ProbeSub(MysticWorlds plugin, RuleEngine engine, Consumer<String> dlog) {
+    public ProbeSub(MysticWorlds plugin, RuleEngine engine, PlaceholderCacheService placeholders, TraceService trace) {
         this.plugin = plugin;
         this.engine = engine;
-        this.dlog = dlog;
+        this.placeholders = placeholders;
+        this.trace = trace;
     }
 
     @Override public String name() { return "probe"; }
@@ -92,17 +94,21 @@ public final class ProbeSub implements Subcommand {
                 sender.sendMessage(Msg.mm(pfx + "placeholder: <gray>(no checks)</gray>"));
             } else {
                 sender.sendMessage(Msg.mm(pfx + "placeholder checks:"));
-                for (var c : r.placeholder.checks) {
-                    String raw = c.placeholder;
-                    String val;
-                    try { val = PlaceholderAPI.setPlaceholders(targetPlayer, raw); }
-                    catch (Throwable t) { val = "<error>"; }
-                    sender.sendMessage(Msg.mm("  <gray>" + raw + "</gray> -> <white>" + val + "</white> <gray>[" + c.type + " " + c.value + "]</gray>"));
+                // same cache the engine reads, so the evaluation below doesn't resolve them again
+                String[] vals;
+                try { vals = placeholders.resolveAll(targetPlayer, r.placeholder.placeholders); }
+                catch (Throwable t) { vals = null; }
+                for (int i = 0; i < r.placeholder.checks.size(); i++) {
+                    var c = r.placeholder.checks.get(i);
+                    String val = vals == null ? "<error>" : vals[r.placeholder.valueIndex(i)];
+                    sender.sendMessage(Msg.mm("  <gray>" + c.placeholder + "</gray> -> <white>" + val + "</white> <gray>[" + c.type + " " + c.value + "]</gray>"));
                 }
+                sender.sendMessage(Msg.mm(pfx + "placeholder cache: hits=<white>" + placeholders.hits()
+                        + "</white> misses=<white>" + placeholders.misses() + "</white>"));
             }
         }
 
-        CompletableFuture<RuleEngine.Decision> fut = engine.evaluate(targetPlayer, worldName);
+        CompletableFuture<RuleEngine.Decision> fut = engine.probe(targetPlayer, worldName); // dry run: no ticket, charge or learning
         fut.thenAccept(decision ->
                 Bukkit.getScheduler().runTask(plugin, () -> {
                     BigDecimal charged = decision.chargedAmount() == null ? BigDecimal.ZERO : decision.chargedAmount();
@@ -114,14 +120,14 @@ public final class ProbeSub implements Subcommand {
 
                     if (eff.restricted()) {
                         sender.sendMessage(Msg.mm(pfx + "detail: "
-                                + verdict("bypass", r.bypass.enabled, decision.reasons())
-                                + verdict("perm", r.permission.enabled, decision.reasons(), "permission")
-                                + verdict("items", r.items.enabled, decision.reasons())
-                                + verdict("placeholder", r.placeholder.enabled, decision.reasons())
-                                + verdict("economy", r.economy.enabled, decision.reasons())));
+                                + verdict("bypass", r.bypass.enabled, decision, RuleEngine.Reason.BYPASS)
+                                + verdict("perm", r.permission.enabled, decision, RuleEngine.Reason.PERMISSION)
+                                + verdict("items", r.items.enabled, decision, RuleEngine.Reason.ITEMS)
+                                + verdict("placeholder", r.placeholder.enabled, decision, RuleEngine.Reason.PLACEHOLDER)
+                                + verdict("economy", r.economy.enabled, decision, RuleEngine.Reason.ECONOMY)));
                     }
 
-                    dlog.accept("[PROBE] " + targetPlayer.getName() + " -> " + worldName
+                    if (trace.on(targetPlayer.getUniqueId(), worldName)) trace.log("[PROBE] " + targetPlayer.getName() + " -> " + worldName
                             + " allowed=" + decision.allowed()
                             + " charged=" + charged
                             + " reasons=" + decision.reasons());
@@ -162,12 +168,8 @@ public final class ProbeSub implements Subcommand {
         return Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null;
     }
     private static String onOff(boolean b) { return b ? "<green>on</green>" : "<red>off</red>"; }
-    private static String verdict(String key, boolean enabled, List<String> reasons) {
-        return verdict(key, enabled, reasons, key);
-    }
-    private static String verdict(String label, boolean enabled, List<String> reasons, String reasonKey) {
+    private static String verdict(String label, boolean enabled, RuleEngine.Decision decision, RuleEngine.Reason reason) {
         if (!enabled) return label + "=<gray>n/a</gray> ";
-        return reasons.stream().map(String::toLowerCase).anyMatch(reasonKey.toLowerCase()::equals)
-                ? label + "=<red>fail</red> " : label + "=<green>pass</green> ";
+        return decision.has(reason) ? label + "=<red>fail</red> " : label + "=<green>pass</green> ";
     }
 }
@@ -3,6 +3,7 @@ package com.alphine.mysticWorlds.command.sub;
 import com.alphine.mysticWorlds.MysticWorlds;
 import com.alphine.mysticWorlds.command.Subcommand;
 import com.alphine.mysticWorlds.util.Msg;
+import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.command.CommandSender;
 
 import java.util.List;
@@ -18,10 +19,15 @@ public final class ReloadSub implements Subcommand {
     @Override public boolean playerOnly() { return false; }
 
     @Override public boolean execute(CommandSender sender, String[] args) {
-        long start = System.currentTimeMillis();
-        plugin.reload();
-        long took = System.currentTimeMillis() - start;
-        sender.sendMessage(Msg.mm("<green>MysticWorlds reloaded in " + took + " ms.</green>"));
+        sender.sendMessage(Msg.mm("<gray>Reloading MysticWorlds...</gray>"));
+        plugin.reloadAsync(true).thenAccept(r -> {
+            if (r.error() != null) {
+                sender.sendMessage(Msg.mm("<red>Config rejected, previous config kept:</red> <gray>" + MiniMessage.miniMessage().escapeTags(r.error()) + "</gray>"));
+            } else {
+                sender.sendMessage(Msg.mm("<green>MysticWorlds reloaded in " + r.tookMillis() + " ms ("
+                        + r.changedWorlds() + " world(s) changed).</green>"));
+            }
+        });
         return true;
     }
 
@@ -0,0 +1,40 @@
+package com.alphine.mysticWorlds.command.sub;
+
+import com.alphine.mysticWorlds.command.Subcommand;
+import com.alphine.mysticWorlds.service.GateMetrics;
+import com.alphine.mysticWorlds.util.Msg;
+import org.bukkit.command.CommandSender;
+
+import java.util.List;
+
+public final class StatsSub implements Subcommand {
+    private final GateMetrics metrics;
+    public StatsSub(GateMetrics metrics) { this.metrics = metrics; }
+
+    @Override public String name() { return "stats"; }
+    @Override public List<String> aliases() { return List.of("metrics"); }
+    @Override public String permission() { return "mysticworlds.stats"; }
+    @Override public String description() { return "Gate counters and stage latencies; 'reset' clears them."; }
+    @Override public boolean playerOnly() { return false; }
+
+    @Override public boolean execute(CommandSender sender, String[] args) {
+        if (args.length > 0 && args[0].equalsIgnoreCase("reset")) {
+            metrics.reset();
+            sender.sendMessage(Msg.mm("<gray>Metrics reset.</gray>"));
+            return true;
+        }
+        if (!metrics.enabled()) {
+            sender.sendMessage(Msg.mm("<red>Metrics are disabled (metrics.enabled).</red>"));
+            return true;
+        }
+        var lines = metrics.summary();
+        sender.sendMessage(Msg.mm("<gray>MysticWorlds stats:</gray>"));
+        if (lines.isEmpty()) sender.sendMessage(Msg.mm("<gray>No gate activity yet.</gray>"));
+        for (String line : lines) sender.sendMessage(" " + line); // plain text: world names are not markup
+        return true;
+    }
+
+    @Override public List<String> tabComplete(CommandSender sender, String[] args) {
+        return args.length == 1 ? List.of("reset") : List.of();
+    }
+}
@@ -1,25 +1,40 @@
 package com.alphine.mysticWorlds.config;
 
 import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.PatternSyntaxException;
 
 import static com.alphine.mysticWorlds.config.ConfigModel.*;
 
 public final class ConfigLoader {
+    private static final Map<String, NamespacedKey> KEY_CACHE = new ConcurrentHashMap<>();
+
     private final JavaPlugin plugin;
+    private long regexBudgetNanos; // from general.regex-budget-ms, applied to every MATCHES_REGEX check
+    // templates: raw sections, resolved (with their extends chain) on first use
+    private ConfigurationSection templateSecs;
+    private final Map<String, WorldOverride> templates = new HashMap<>();
+    private final Set<String> resolving = new HashSet<>();
     public ConfigLoader(JavaPlugin plugin) { this.plugin = plugin; }
 
     public ConfigModel load() {
         plugin.saveDefaultConfig();
-        var cfg = plugin.getConfig();
+        return load(plugin.getConfig());
+    }
+
+    /** Compiles an already-parsed config. Touches no server state, so it may run off-thread. */
+    public ConfigModel load(ConfigurationSection cfg) {
 
         // ---- general (safe defaults if section missing)
         var gen = cfg.getConfigurationSection("general");
-        if (gen == null) gen = cfg.createSection("general");
+        if (gen == null) gen = new MemoryConfiguration();
 
         String modeStr = optString(gen, "restricted-mode", "listed").toLowerCase(Locale.ROOT);
         General.Mode mode = modeStr.equals("all_except_listed") ? General.Mode.ALL_EXCEPT_LISTED : General.Mode.LISTED;
@@ -28,13 +43,18 @@ public final class ConfigLoader {
         boolean rememberBypass = gen.getBoolean("remember-bypass", true);
         boolean showReasons    = gen.getBoolean("show-deny-reasons", true);
         int denyCooldown       = Math.max(0, gen.getInt("deny-cooldown-seconds", 2));
+        int admissionTtl       = Math.max(0, gen.getInt("admission-ttl-seconds", 30));
         String ecoBackend      = optString(gen, "economy-backend", "auto");
+        regexBudgetNanos       = Math.max(0L, gen.getLong("regex-budget-ms", 5L)) * 1_000_000L;
 
-        General general = new General(mode, ruleLogic, rememberBypass, showReasons, denyCooldown, ecoBackend);
+        General general = new General(mode, ruleLogic, rememberBypass, showReasons, denyCooldown, admissionTtl, ecoBackend);
 
         // ---- global rules
         Rules global = readRules(cfg.getConfigurationSection("rules"));
 
+        // ---- rule templates (extended by worlds / groups / other templates)
+        templateSecs = cfg.getConfigurationSection("templates");
+
         // ---- per-world overrides
         Map<String, WorldOverride> worlds = new HashMap<>();
         var worldsSec = cfg.getConfigurationSection("worlds");
@@ -42,27 +62,105 @@ public final class ConfigLoader {
             for (String world : worldsSec.getKeys(false)) {
                 var w = worldsSec.getConfigurationSection(world);
                 if (w == null) continue;
-                Boolean restricted = (w.contains("restricted") ? w.getBoolean("restricted") : null);
-                Integer cd = (w.contains("deny-cooldown-seconds") ? Math.max(0, w.getInt("deny-cooldown-seconds")) : null);
-                RuleLogic wlLogic = w.contains("rule-logic") ? RuleLogic.from(optString(w, "rule-logic", general.ruleLogic.name().toLowerCase()), general.ruleLogic) : null;
-                Rules overrides = w.isConfigurationSection("rules") ? readRules(w.getConfigurationSection("rules")) : null;
-                worlds.put(world, new WorldOverride(restricted, cd, wlLogic, overrides));
+                worlds.put(world, readOverride(w, general));
             }
         }
 
-        return new ConfigModel(general, global, worlds);
+        // ---- pattern world groups (glob `match:` or `regex:`), first match wins
+        List<WorldGroup> groups = new ArrayList<>();
+        var groupsSec = cfg.getConfigurationSection("world-groups");
+        if (groupsSec != null) {
+            for (String name : groupsSec.getKeys(false)) {
+                var g = groupsSec.getConfigurationSection(name);
+                if (g == null) continue;
+                WorldSelector sel;
+                try {
+                    if (g.isString("regex")) sel = WorldSelector.regex(g.getString("regex"));
+                    else if (g.isString("match")) sel = WorldSelector.glob(g.getString("match"));
+                    else { plugin.getLogger().warning("world-groups." + name + ": needs 'match' or 'regex'; skipped"); continue; }
+                } catch (PatternSyntaxException ex) {
+                    plugin.getLogger().warning("world-groups." + name + ": bad regex (" + ex.getDescription() + "); skipped");
+                    continue;
+                }
+                groups.add(new WorldGroup(name, sel, readOverride(g, general)));
+            }
+        }
+
+        // ---- placeholder value cache
+        var pc = cfg.getConfigurationSection("placeholder-cache");
+        Map<String, Long> ttls = new HashMap<>();
+        var ttlSec = pc != null ? pc.getConfigurationSection("ttl-ms") : null;
+        if (ttlSec != null) for (String ph : ttlSec.getKeys(false)) ttls.put(ph, Math.max(0L, ttlSec.getLong(ph)));
+        PlaceholderCache phCache = new PlaceholderCache(
+                pc == null || pc.getBoolean("enabled", true),
+                pc != null ? Math.max(0L, pc.getLong("default-ttl-ms", 3000L)) : 3000L,
+                Map.copyOf(ttls));
+
+        return new ConfigModel(general, global, worlds, groups, phCache);
     }
 
     /* ================= helpers ================= */
 
-    private Rules readRules(ConfigurationSection sec) {
-        if (sec == null) sec = plugin.getConfig().createSection("_empty");
+    /**
+     * A worlds / world-groups / templates entry. With {@code extends: <template>} the entry is a
+     * partial override: rule sections and keys it omits are inherited from the template.
+     * Without it, the historical semantics apply (omitted rule sections are disabled).
+     */
+    private WorldOverride readOverride(ConfigurationSection w, General general) {
+        String parent = w.getString("extends");
+        if (parent == null || parent.isBlank()) return readOverride(w, general, false);
+        WorldOverride base = template(parent.trim(), general);
+        if (base == null) plugin.getLogger().warning(w.getCurrentPath() + ": unknown template '" + parent + "'");
+        WorldOverride o = WorldOverride.layer(base, readOverride(w, general, true));
+        if (o.rules == null) return o;
+        return new WorldOverride(o.restricted, o.denyCooldownSeconds, o.admissionTtlSeconds, o.ruleLogic, o.rules.resolved());
+    }
+
+    private WorldOverride template(String name, General general) {
+        WorldOverride t = templates.get(name);
+        if (t != null) return t;
+        var sec = templateSecs != null ? templateSecs.getConfigurationSection(name) : null;
+        if (sec == null) return null;
+        if (!resolving.add(name)) {
+            plugin.getLogger().warning("templates." + name + ": extends cycle; chain cut here");
+            return null;
+        }
+        try {
+            String parent = sec.getString("extends");
+            WorldOverride own = readOverride(sec, general, true);
+            t = parent == null || parent.isBlank() ? own : WorldOverride.layer(template(parent.trim(), general), own);
+        } finally {
+            resolving.remove(name);
+        }
+        templates.put(name, t);
+        return t;
+    }
+
+    private WorldOverride readOverride(ConfigurationSection w, General general, boolean partial) {
+        Boolean restricted = (w.contains("restricted") ? w.getBoolean("restricted") : null);
+        Integer cd = (w.contains("deny-cooldown-seconds") ? Math.max(0, w.getInt("deny-cooldown-seconds")) : null);
+        Integer ticketTtl = (w.contains("admission-ttl-seconds") ? Math.max(0, w.getInt("admission-ttl-seconds")) : null);
+        RuleLogic wlLogic = w.contains("rule-logic") ? RuleLogic.from(optString(w, "rule-logic", general.ruleLogic.name().toLowerCase()), general.ruleLogic) : null;
+        Rules overrides = w.isConfigurationSection("rules") ? readRules(w.getConfigurationSection("rules"), partial) : null;
+        return new WorldOverride(restricted, cd, ticketTtl, wlLogic, overrides);
+    }
+
+    private Rules readRules(ConfigurationSection sec) { return readRules(sec, false); }
+
+    /**
+     * @param partial rule sections missing from {@code sec} come back null (inherit) instead of
+     *                disabled, and each rule marks only the keys its section lists as set; the
+     *                others hold defaults until {@link Rules#resolved} at the end of the chain
+     */
+    private Rules readRules(ConfigurationSection sec, boolean partial) {
+        if (sec == null) sec = new MemoryConfiguration();
 
         // bypass
         var b = sec.getConfigurationSection("bypass");
         BypassRule bypass = new BypassRule(
                 b != null && b.getBoolean("enabled", true),
-                b != null ? optString(b, "permission", "mysticworlds.bypass") : "mysticworlds.bypass"
+                b != null ? optString(b, "permission", "mysticworlds.bypass") : "mysticworlds.bypass",
+                setMask(partial, b, "enabled", "permission")
         );
 
         // permission
@@ -70,7 +168,8 @@ public final class ConfigLoader {
         PermissionRule perm = new PermissionRule(
                 p != null && p.getBoolean("enabled", true),
                 p == null || p.getBoolean("per-world-node", true),
-                p != null ? optString(p, "custom-node", "mysticworlds.access") : "mysticworlds.access"
+                p != null ? optString(p, "custom-node", "mysticworlds.access") : "mysticworlds.access",
+                setMask(partial, p, "enabled", "per-world-node", "custom-node")
         );
 
         // items
@@ -78,14 +177,19 @@ public final class ConfigLoader {
         ItemsRule items = new ItemsRule(
                 i != null && i.getBoolean("enabled", false),
                 i != null && i.getBoolean("consume-on-pass", false),
-                readItemSets(i) // -> List<ItemSet>
+                readItemSets(i), // -> List<ItemSet>
+                i != null && i.getBoolean("search-shulkers", false),
+                i != null && i.getBoolean("search-ender-chest", false),
+                i != null && i.getBoolean("search-bundles", false),
+                setMask(partial, i, "enabled", "consume-on-pass", "any_of", "search-shulkers", "search-ender-chest", "search-bundles")
         );
 
         // placeholder
         var ph = sec.getConfigurationSection("placeholder");
         PlaceholderRule placeholder = new PlaceholderRule(
                 ph != null && ph.getBoolean("enabled", false),
-                readPlaceholderChecks(ph) // -> List<PlaceholderRule.Check>
+                readPlaceholderChecks(ph), // -> List<PlaceholderRule.Check>
+                setMask(partial, ph, "enabled", "checks")
         );
 
         // economy
@@ -94,11 +198,22 @@ public final class ConfigLoader {
         BigDecimal min  = BigDecimal.valueOf(e != null ? Math.max(0, e.getDouble("min-balance", 0.0)) : 0.0);
         BigDecimal cost = BigDecimal.valueOf(e != null ? Math.max(0, e.getDouble("cost", 0.0)) : 0.0);
         boolean refund  = e != null && e.getBoolean("refund-on-deny", true);
-        EconomyRule econ = new EconomyRule(e != null && e.getBoolean("enabled", false), timing, min, cost, refund);
+        EconomyRule econ = new EconomyRule(e != null && e.getBoolean("enabled", false), timing, min, cost, refund,
+                setMask(partial, e, "enabled", "charge-timing", "min-balance", "cost", "refund-on-deny"));
 
+        if (partial) return new Rules(b != null ? bypass : null, p != null ? perm : null, i != null ? items : null,
+                ph != null ? placeholder : null, e != null ? econ : null);
         return new Rules(bypass, perm, items, placeholder, econ);
     }
 
+    /** Bit i set when {@code keys[i]} is listed in {@code sec}; everything in a plain (non-partial) entry. */
+    private static int setMask(boolean partial, ConfigurationSection sec, String... keys) {
+        if (!partial) return ConfigModel.ALL_SET;
+        int mask = 0;
+        if (sec != null) for (int k = 0; k < keys.length; k++) if (sec.contains(keys[k], true)) mask |= 1 << k;
+        return mask;
+    }
+
     private String normalizeTiming(String s) {
         if (s == null) return "on-pass";
         return switch (s.trim().toLowerCase(Locale.ROOT)) {
@@ -140,7 +255,6 @@ public final class ConfigLoader {
         return out;
     }
 
-    @SuppressWarnings("unchecked")
     private List<PdcCheck> readPdcList(Object obj) {
         List<PdcCheck> list = new ArrayList<>();
         if (!(obj instanceof List<?> raw)) return list;
@@ -156,11 +270,41 @@ public final class ConfigLoader {
                 type = PdcCheck.Type.STRING;
             }
             String val = str(m, "value", "");
-            list.add(new PdcCheck(key, type, val));
+
+            NamespacedKey nsKey = internKey(key);
+            if (nsKey == null) plugin.getLogger().warning("[Config] Invalid PDC key: " + key + " (check never matches)");
+
+            // pre-parse the expected value once; unparsable ints/longs compare against 0 as before
+            long expectedLong = 0L;
+            double expectedDouble = Double.NaN;
+            try {
+                switch (type) {
+                    case INT -> expectedLong = Integer.parseInt(val.trim());
+                    case LONG -> expectedLong = Long.parseLong(val.trim());
+                    case DOUBLE -> {
+                        // BigDecimal syntax: no NaN/Infinity, hex floats or d/f suffixes
+                        expectedDouble = new BigDecimal(val.trim()).doubleValue();
+                        if (!Double.isFinite(expectedDouble)) { expectedDouble = Double.NaN; throw new NumberFormatException(val); }
+                    }
+                    case STRING -> { }
+                }
+            } catch (NumberFormatException e) {
+                plugin.getLogger().warning("[Config] PDC " + key + ": '" + val + "' is not a valid " + type);
+            }
+            list.add(new PdcCheck(key, type, val, nsKey, expectedLong, expectedDouble));
         }
         return list;
     }
 
+    /** Same key string -> same NamespacedKey instance, across items and reloads. */
+    private NamespacedKey internKey(String key) {
+        NamespacedKey k = KEY_CACHE.get(key);
+        if (k != null) return k;
+        k = NamespacedKey.fromString(key, plugin);
+        if (k != null) KEY_CACHE.put(key, k);
+        return k;
+    }
+
     private List<PlaceholderRule.Check> readPlaceholderChecks(ConfigurationSection ph) {
         List<PlaceholderRule.Check> out = new ArrayList<>();
         if (ph == null) return out;
@@ -179,7 +323,9 @@ public final class ConfigLoader {
                 type = PlaceholderRule.Check.Type.EQUALS;
             }
             String val = str(m, "value", "");
-            out.add(new PlaceholderRule.Check(phStr, type, val));
+            var check = new PlaceholderRule.Check(phStr, type, val, regexBudgetNanos);
+            if (check.error != null) plugin.getLogger().warning("[Config] Placeholder " + phStr + ": " + check.error + " (check never passes)");
+            out.add(check);
         }
         return out;
     }
@@ -1,41 +1,141 @@
 package com.alphine.mysticWorlds.config;
 
+import io.papermc.paper.persistence.PersistentDataContainerView;
 import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
 public final class ConfigModel {
     /* -------- top-level -------- */
     public final General general;
     public final Rules globalRules;
     public final Map<String, WorldOverride> worlds; // key = world name (exact)
+    public final List<WorldGroup> groups;           // pattern selectors, config order; exact names win
+    public final PlaceholderCache placeholderCache;
+    /** Distinct per load; tickets and other caches keyed on it die with the model. */
+    public final long version = VERSIONS.incrementAndGet();
+    private static final AtomicLong VERSIONS = new AtomicLong();
 
-    public ConfigModel(General general, Rules globalRules, Map<String, WorldOverride> worlds) {
+    /* -------- precompiled plans (built once per load, never mutated) -------- */
+    private final Map<String, EffectiveRules> plans;
+    private final EffectiveRules defaultPlan;
+    private final WorldMatcher matcher; // null when no groups are configured
+    private final int groupMaxCooldown;
+    /** Group-resolved plans per world name; bounded (any entry makes room), dropped on world unload. */
+    private final Map<String, EffectiveRules> resolved = new ConcurrentHashMap<>();
+    private static final int MAX_RESOLVED = 8192;
+    /** Structural flyweights: equal rule graphs across worlds, groups and templates share one instance. */
+    private final Map<Object, Object> pool = new ConcurrentHashMap<>();
+    private static final int MAX_POOLED = 16384;
+
+    public ConfigModel(General general, Rules globalRules, Map<String, WorldOverride> worlds,
+                       List<WorldGroup> groups, PlaceholderCache placeholderCache) {
         this.general = general;
         this.globalRules = globalRules;
         this.worlds = worlds;
+        this.groups = List.copyOf(groups);
+        this.placeholderCache = placeholderCache;
+
+        // Merge global + override once per listed world; unlisted worlds share one plan.
+        Map<String, EffectiveRules> compiled = new HashMap<>();
+        for (var e : worlds.entrySet()) compiled.put(e.getKey(), compile(e.getValue()));
+        this.plans = Map.copyOf(compiled);
+        this.defaultPlan = compile(null);
+
+        this.matcher = this.groups.isEmpty() ? null
+                : new WorldMatcher(this.groups.stream().map(WorldGroup::selector).toList());
+        int gmax = 0;
+        for (var g : this.groups) gmax = Math.max(gmax, compile(g.override()).denyCooldownSeconds());
+        this.groupMaxCooldown = gmax;
     }
 
     /* -------- effective view per world -------- */
+    /** Frozen plan for {@code world}: exact entry, else first matching group, else the default. */
     public EffectiveRules effective(String world) {
-        WorldOverride ov = worlds.get(world);
+        EffectiveRules plan = plans.get(world);
+        if (plan != null) return plan;
+        if (matcher == null) return defaultPlan;
+        plan = resolved.get(world);
+        if (plan != null) return plan;
+
+        var m = matcher.find(world);
+        plan = m == null ? defaultPlan : compile(groups.get(m.index()).override(), m.captures());
+        if (resolved.size() >= MAX_RESOLVED) {
+            // approximate eviction: unloads normally keep this small, so any victim will do
+            var it = resolved.keySet().iterator();
+            if (it.hasNext()) { it.next(); it.remove(); }
+        }
+        resolved.put(world, plan);
+        return plan;
+    }
+
+    /** Drop the memoized group plan for an unloaded world. */
+    public void forget(String world) { resolved.remove(world); }
+
+    /**
+     * Worlds whose plan differs between two loads, among {@code names} and every world either
+     * model lists. A world only {@code before} listed always counts, so its entry can be dropped.
+     */
+    public static Set<String> changedWorlds(ConfigModel before, ConfigModel after, Collection<String> names) {
+        Set<String> all = new HashSet<>(names);
+        all.addAll(before.worlds.keySet());
+        all.addAll(after.worlds.keySet());
+        Set<String> changed = new HashSet<>();
+        for (String w : all) {
+            boolean dropped = before.worlds.containsKey(w) && !after.worlds.containsKey(w);
+            if (dropped || !before.effective(w).equals(after.effective(w))) changed.add(w);
+        }
+        return changed;
+    }
+
+    /** Longest deny cooldown any plan uses (bounds how long cooldown entries must live). */
+    public int maxDenyCooldownSeconds() {
+        int max = Math.max(defaultPlan.denyCooldownSeconds(), groupMaxCooldown);
+        for (var plan : plans.values()) max = Math.max(max, plan.denyCooldownSeconds());
+        return max;
+    }
+
+    private EffectiveRules compile(WorldOverride ov) { return compile(ov, null); }
+
+    private EffectiveRules compile(WorldOverride ov, String[] captures) {
         boolean restricted = switch (general.restrictedMode) {
             case LISTED -> ov != null && (ov.restricted == null ? true : ov.restricted);
             case ALL_EXCEPT_LISTED -> ov == null || (ov.restricted == null ? true : ov.restricted);
         };
 
-        // base = copy global
-        Rules base = globalRules.copy();
+        Rules base = globalRules;
         int cooldown = general.denyCooldownSeconds;
+        int ticketTtl = general.admissionTtlSeconds;
         RuleLogic logic = general.ruleLogic;
 
         if (ov != null) {
             if (ov.denyCooldownSeconds != null) cooldown = Math.max(0, ov.denyCooldownSeconds);
+            if (ov.admissionTtlSeconds != null) ticketTtl = Math.max(0, ov.admissionTtlSeconds);
             if (ov.ruleLogic != null) logic = ov.ruleLogic;
-            if (ov.rules != null) base.applyOverride(ov.rules);
+            if (ov.rules != null) base = base.merge(ov.rules);
         }
-        return new EffectiveRules(restricted, cooldown, logic, base);
+        if (captures != null) base = base.bind(captures);
+        return shared(new EffectiveRules(restricted, cooldown, ticketTtl, logic, canonical(base)));
+    }
+
+    private Rules canonical(Rules r) {
+        return shared(new Rules(shared(r.bypass), shared(r.permission), shared(r.items), shared(r.placeholder), shared(r.economy)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T shared(T v) {
+        Object prev = pool.get(v);
+        if (prev != null) return (T) prev;
+        if (pool.size() >= MAX_POOLED) return v;
+        prev = pool.putIfAbsent(v, v);
+        return prev == null ? v : (T) prev;
     }
 
     /* -------- nested beans -------- */
@@ -46,18 +146,21 @@ public final class ConfigModel {
         public final RuleLogic ruleLogic;
         public final boolean rememberBypass, showDenyReasons;
         public final int denyCooldownSeconds;
+        public final int admissionTtlSeconds;
         public final String economyBackend;
 
-        public General(Mode m, RuleLogic logic, boolean remember, boolean showReasons, int cooldown, String backend) {
+        public General(Mode m, RuleLogic logic, boolean remember, boolean showReasons, int cooldown, int admissionTtl, String backend) {
             this.restrictedMode = m;
             this.ruleLogic = logic;
             this.rememberBypass = remember;
             this.showDenyReasons = showReasons;
             this.denyCooldownSeconds = cooldown;
+            this.admissionTtlSeconds = admissionTtl;
             this.economyBackend = backend;
         }
     }
 
+    /** Immutable rule tree; {@link #merge} builds a new tree instead of mutating. */
     public static final class Rules {
         public final BypassRule bypass;
         public final PermissionRule permission;
@@ -73,93 +176,399 @@ public final class ConfigModel {
             this.economy = e;
         }
 
-        public Rules copy() {
-            return new Rules(bypass.copy(), permission.copy(), items.copy(), placeholder.copy(), economy.copy());
+        public Rules merge(Rules o) {
+            if (o == null) return this;
+            return new Rules(bypass.merge(o.bypass), permission.merge(o.permission), items.merge(o.items),
+                    placeholder.merge(o.placeholder), economy.merge(o.economy));
+        }
+
+        /**
+         * Template layering: each rule {@code top} defines is merged over {@code base}'s, key by key;
+         * null slots and keys {@code top} leaves unset inherit.
+         */
+        public static Rules layer(Rules base, Rules top) {
+            if (base == null) return top;
+            if (top == null) return base;
+            return new Rules(
+                    top.bypass == null ? base.bypass : base.bypass == null ? top.bypass : base.bypass.merge(top.bypass),
+                    top.permission == null ? base.permission : base.permission == null ? top.permission : base.permission.merge(top.permission),
+                    top.items == null ? base.items : base.items == null ? top.items : base.items.merge(top.items),
+                    top.placeholder == null ? base.placeholder : base.placeholder == null ? top.placeholder : base.placeholder.merge(top.placeholder),
+                    top.economy == null ? base.economy : base.economy == null ? top.economy : base.economy.merge(top.economy));
+        }
+
+        /**
+         * End of a template chain: keys no layer set keep the defaults they were read with and
+         * now count as set, so the result overrides the global rules like a plain world entry.
+         */
+        public Rules resolved() {
+            return new Rules(bypass == null ? null : bypass.resolved(), permission == null ? null : permission.resolved(),
+                    items == null ? null : items.resolved(), placeholder == null ? null : placeholder.resolved(),
+                    economy == null ? null : economy.resolved());
         }
-        public void applyOverride(Rules o) {
-            this.bypass.override(o.bypass);
-            this.permission.override(o.permission);
-            this.items.override(o.items);
-            this.placeholder.override(o.placeholder);
-            this.economy.override(o.economy);
+
+        @Override public boolean equals(Object o) {
+            return o instanceof Rules r && Objects.equals(bypass, r.bypass) && Objects.equals(permission, r.permission)
+                    && Objects.equals(items, r.items) && Objects.equals(placeholder, r.placeholder) && Objects.equals(economy, r.economy);
+        }
+        @Override public int hashCode() { return Objects.hash(bypass, permission, items, placeholder, economy); }
+
+        /** Fills {@code {n}} in permission nodes with world-group captures. */
+        public Rules bind(String[] caps) {
+            BypassRule b = bypass.bind(caps);
+            PermissionRule p = permission.bind(caps);
+            if (b == bypass && p == permission) return this;
+            return new Rules(b, p, items, placeholder, economy);
         }
     }
 
     /* ---- individual rule types ---- */
 
+    /*
+     * Each rule's "set" mask says which keys the config gave (bit i = constructor argument i);
+     * a merge takes only those from the overriding rule. Plain entries have every bit set.
+     */
+    public static final int ALL_SET = -1;
+
     public static final class BypassRule {
-        public boolean enabled; public String permission;
-        public BypassRule(boolean e, String perm) { enabled = e; permission = perm; }
-        public BypassRule copy(){ return new BypassRule(enabled, permission); }
-        public void override(BypassRule o){ if(o==null)return; enabled=o.enabled; if(o.permission!=null)permission=o.permission; }
+        public final boolean enabled; public final String permission;
+        final int set;
+        public BypassRule(boolean e, String perm) { this(e, perm, ALL_SET); }
+        public BypassRule(boolean e, String perm, int set) { enabled = e; permission = perm; this.set = set; }
+        public BypassRule merge(BypassRule o){ if(o==null)return this; return new BypassRule(
+                (o.set&1)!=0?o.enabled:enabled, (o.set&2)!=0&&o.permission!=null?o.permission:permission, set|o.set); }
+        BypassRule resolved(){ return set==ALL_SET?this:new BypassRule(enabled, permission); }
+        BypassRule bind(String[] caps){ String s=WorldSelector.fill(permission, caps); return s==permission?this:new BypassRule(enabled, s, set); }
+        @Override public boolean equals(Object o){ return o instanceof BypassRule r && enabled==r.enabled && set==r.set && Objects.equals(permission, r.permission); }
+        @Override public int hashCode(){ return Objects.hash(enabled, permission, set); }
     }
 
     public static final class PermissionRule {
-        public boolean enabled; public boolean perWorldNode; public String customNode;
-        public PermissionRule(boolean e, boolean per, String node){ enabled=e; perWorldNode=per; customNode=node; }
-        public PermissionRule copy(){ return new PermissionRule(enabled, perWorldNode, customNode); }
-        public void override(PermissionRule o){ if(o==null)return; enabled=o.enabled; perWorldNode=o.perWorldNode; if(o.customNode!=null)customNode=o.customNode; }
+        public final boolean enabled; public final boolean perWorldNode; public final String customNode;
+        final int set;
+        public PermissionRule(boolean e, boolean per, String node){ this(e, per, node, ALL_SET); }
+        public PermissionRule(boolean e, boolean per, String node, int set){ enabled=e; perWorldNode=per; customNode=node; this.set=set; }
+        public PermissionRule merge(PermissionRule o){ if(o==null)return this; return new PermissionRule((o.set&1)!=0?o.enabled:enabled,
+                (o.set&2)!=0?o.perWorldNode:perWorldNode, (o.set&4)!=0&&o.customNode!=null?o.customNode:customNode, set|o.set); }
+        PermissionRule resolved(){ return set==ALL_SET?this:new PermissionRule(enabled, perWorldNode, customNode); }
+        PermissionRule bind(String[] caps){ String s=WorldSelector.fill(customNode, caps); return s==customNode?this:new PermissionRule(enabled, perWorldNode, s, set); }
+        @Override public boolean equals(Object o){ return o instanceof PermissionRule r && enabled==r.enabled && perWorldNode==r.perWorldNode
+                && set==r.set && Objects.equals(customNode, r.customNode); }
+        @Override public int hashCode(){ return Objects.hash(enabled, perWorldNode, customNode, set); }
     }
 
     public static final class ItemsRule {
-        public boolean enabled; public boolean consumeOnPass;
+        public final boolean enabled; public final boolean consumeOnPass;
         public final List<ItemSet> anyOf; // pass if any set matches
+        // extra sources the matcher walks (each at most once per evaluation)
+        public final boolean searchShulkers, searchEnderChest, searchBundles;
+        private final Map<Material, Integer> wanted; // material -> histogram bucket
+        final int set;
 
-        public ItemsRule(boolean e, boolean consume, List<ItemSet> sets){
-            enabled=e; consumeOnPass=consume; anyOf=sets;
+        public ItemsRule(boolean e, boolean consume, List<ItemSet> sets, boolean shulkers, boolean enderChest, boolean bundles){
+            this(e, consume, sets, shulkers, enderChest, bundles, ALL_SET);
         }
-        public ItemsRule copy(){ List<ItemSet> c = new ArrayList<>(); for(var s:anyOf)c.add(s.copy()); return new ItemsRule(enabled, consumeOnPass, c); }
-        public void override(ItemsRule o){ if(o==null)return; enabled=o.enabled; consumeOnPass=o.consumeOnPass; if(o.anyOf!=null && !o.anyOf.isEmpty()){ anyOf.clear(); anyOf.addAll(o.anyOf); } }
+        public ItemsRule(boolean e, boolean consume, List<ItemSet> sets, boolean shulkers, boolean enderChest, boolean bundles, int set){
+            this.set=set; enabled=e; consumeOnPass=consume; anyOf=sets==null?List.of():List.copyOf(sets);
+            searchShulkers=shulkers; searchEnderChest=enderChest; searchBundles=bundles;
+            Map<Material, Integer> idx = new HashMap<>();
+            for (var set : anyOf) for (var r : set.match) idx.putIfAbsent(r.material, idx.size());
+            wanted = Map.copyOf(idx);
+        }
+        public ItemsRule merge(ItemsRule o){ if(o==null)return this; return new ItemsRule((o.set&1)!=0?o.enabled:enabled,
+                (o.set&2)!=0?o.consumeOnPass:consumeOnPass, (o.set&4)!=0&&!o.anyOf.isEmpty()?o.anyOf:anyOf,
+                (o.set&8)!=0?o.searchShulkers:searchShulkers, (o.set&16)!=0?o.searchEnderChest:searchEnderChest,
+                (o.set&32)!=0?o.searchBundles:searchBundles, set|o.set); }
+        ItemsRule resolved(){ return set==ALL_SET?this:new ItemsRule(enabled, consumeOnPass, anyOf, searchShulkers, searchEnderChest, searchBundles); }
+
+        /** Number of distinct materials referenced by {@link #anyOf}. */
+        public int bucketCount() { return wanted.size(); }
+        /** Histogram bucket for {@code m}, or -1 if no requirement uses it. */
+        public int bucketOf(Material m) { Integer i = wanted.get(m); return i == null ? -1 : i; }
+
+        @Override public boolean equals(Object o){ return o instanceof ItemsRule r && enabled==r.enabled && consumeOnPass==r.consumeOnPass
+                && searchShulkers==r.searchShulkers && searchEnderChest==r.searchEnderChest && searchBundles==r.searchBundles
+                && set==r.set && anyOf.equals(r.anyOf); }
+        @Override public int hashCode(){ return Objects.hash(enabled, consumeOnPass, searchShulkers, searchEnderChest, searchBundles, anyOf, set); }
     }
     public static final class ItemSet {
-        public final List<ItemReq> match; public ItemSet(List<ItemReq> m){ match=m;}
-        public ItemSet copy(){ List<ItemReq> c=new ArrayList<>(); for(var r:match)c.add(r.copy()); return new ItemSet(c);}
+        public final List<ItemReq> match; public ItemSet(List<ItemReq> m){ match=List.copyOf(m);}
+        @Override public boolean equals(Object o){ return o instanceof ItemSet s && match.equals(s.match); }
+        @Override public int hashCode(){ return match.hashCode(); }
     }
     public static final class ItemReq {
         public final Material material; public final int amount; public final List<PdcCheck> pdc;
-        public ItemReq(Material m, int a, List<PdcCheck> p){ material=m; amount=a; pdc=p;}
-        public ItemReq copy(){ List<PdcCheck> c=new ArrayList<>(); if(pdc!=null) for(var x:pdc)c.add(x.copy()); return new ItemReq(material, amount, c); }
+        public ItemReq(Material m, int a, List<PdcCheck> p){ material=m; amount=a; pdc=p==null?List.of():List.copyOf(p);}
+
+        /**
+         * Type and has-meta fingerprint first, then PDC through the read-only view,
+         * so non-matching stacks never clone their ItemMeta.
+         */
+        public boolean accepts(ItemStack it) {
+            if (it == null || it.getType() != material) return false;
+            if (pdc.isEmpty()) return true;
+            if (!it.hasItemMeta()) return false;
+            PersistentDataContainerView view = it.getPersistentDataContainer();
+            for (var c : pdc) if (!c.matches(view)) return false;
+            return true;
+        }
+
+        @Override public boolean equals(Object o){ return o instanceof ItemReq r && material==r.material && amount==r.amount && pdc.equals(r.pdc); }
+        @Override public int hashCode(){ return Objects.hash(material, amount, pdc); }
     }
+    /** One PDC check, compiled at load: key resolved once, expected value pre-parsed. */
     public static final class PdcCheck {
         public enum Type { STRING, INT, LONG, DOUBLE }
         public final String key; public final Type type; public final String value;
-        public PdcCheck(String k, Type t, String v){ key=k; type=t; value=v;}
-        public PdcCheck copy(){ return new PdcCheck(key, type, value); }
+        private final NamespacedKey nsKey;     // null = invalid key, never matches
+        private final long expectedLong;      // INT / LONG
+        private final double expectedDouble;  // DOUBLE (NaN = unparsable, never matches)
+
+        public PdcCheck(String k, Type t, String v, NamespacedKey nsKey, long expectedLong, double expectedDouble){
+            key=k; type=t; value=v; this.nsKey=nsKey; this.expectedLong=expectedLong; this.expectedDouble=expectedDouble;
+        }
+
+        public boolean matches(PersistentDataContainerView pdc) {
+            if (nsKey == null) return false;
+            return switch (type) {
+                case STRING -> value.equals(pdc.get(nsKey, PersistentDataType.STRING));
+                case INT -> { Integer v = pdc.get(nsKey, PersistentDataType.INTEGER); yield v != null && v == expectedLong; }
+                case LONG -> { Long v = pdc.get(nsKey, PersistentDataType.LONG); yield v != null && v == expectedLong; }
+                case DOUBLE -> { Double v = pdc.get(nsKey, PersistentDataType.DOUBLE);
+                    yield v != null && !Double.isNaN(expectedDouble) && Math.abs(v - expectedDouble) <= 1e-9; }
+            };
+        }
+
+        // compiled fields derive from these three
+        @Override public boolean equals(Object o){ return o instanceof PdcCheck c && key.equals(c.key) && type==c.type && Objects.equals(value, c.value); }
+        @Override public int hashCode(){ return Objects.hash(key, type, value); }
     }
 
     public static final class PlaceholderRule {
-        public boolean enabled; public final List<Check> checks;
-        public PlaceholderRule(boolean e, List<Check> c){ enabled=e; checks=c; }
-        public PlaceholderRule copy(){ List<Check> c=new ArrayList<>(); for(var x:checks)c.add(x.copy()); return new PlaceholderRule(enabled, c); }
-        public void override(PlaceholderRule o){ if(o==null)return; enabled=o.enabled; if(o.checks!=null && !o.checks.isEmpty()){ checks.clear(); checks.addAll(o.checks); } }
+        public final boolean enabled; public final List<Check> checks;
+        /** Distinct placeholder strings used by {@link #checks}, resolved once per evaluation. */
+        public final List<String> placeholders;
+        private final int[] valueIndex; // check i reads placeholders[valueIndex[i]]
+        final int set;
+
+        public PlaceholderRule(boolean e, List<Check> c){ this(e, c, ALL_SET); }
+        public PlaceholderRule(boolean e, List<Check> c, int set){
+            this.set=set; enabled=e; checks=c==null?List.of():List.copyOf(c);
+            List<String> distinct = new ArrayList<>();
+            valueIndex = new int[checks.size()];
+            for (int i = 0; i < checks.size(); i++) {
+                String ph = checks.get(i).placeholder;
+                int at = distinct.indexOf(ph);
+                if (at < 0) { at = distinct.size(); distinct.add(ph); }
+                valueIndex[i] = at;
+            }
+            placeholders = List.copyOf(distinct);
+        }
+        /** Index into {@link #placeholders} (and a resolved values array) for check {@code i}. */
+        public int valueIndex(int i) { return valueIndex[i]; }
+        public PlaceholderRule merge(PlaceholderRule o){ if(o==null)return this; return new PlaceholderRule((o.set&1)!=0?o.enabled:enabled,
+                (o.set&2)!=0&&!o.checks.isEmpty()?o.checks:checks, set|o.set); }
+        PlaceholderRule resolved(){ return set==ALL_SET?this:new PlaceholderRule(enabled, checks); }
+        @Override public boolean equals(Object o){ return o instanceof PlaceholderRule r && enabled==r.enabled && set==r.set && checks.equals(r.checks); }
+        @Override public int hashCode(){ return Objects.hash(enabled, checks, set); }
+        /** One placeholder comparison, compiled at load into a typed predicate. */
         public static final class Check {
             public enum Type { EQUALS, NOT_EQUALS, CONTAINS, MATCHES_REGEX, NUMBER_GTE, NUMBER_LTE }
             public final String placeholder; public final Type type; public final String value;
-            public Check(String p, Type t, String v){ placeholder=p; type=t; value=v; }
-            public Check copy(){ return new Check(placeholder, type, value); }
+            /** Why this check can never pass (bad regex / threshold), or null. */
+            public final String error;
+            private final Pattern pattern;          // MATCHES_REGEX
+            private final long regexBudgetNanos;    // MATCHES_REGEX, <= 0 = unbounded
+            private final boolean integralThreshold;
+            private final long thresholdLong;       // NUMBER_* when integral
+            private final double thresholdDouble;   // NUMBER_*
+            private final BigDecimal thresholdBig;  // NUMBER_*, for values a double can't hold exactly
+            private final boolean thresholdExact;   // NUMBER_*: thresholdDouble is exact
+
+            public Check(String p, Type t, String v, long regexBudgetNanos){
+                placeholder=p; type=t; value=v; this.regexBudgetNanos=regexBudgetNanos;
+                Pattern pat = null; String err = null;
+                boolean integral = false; long tl = 0L; double td = Double.NaN; BigDecimal tb = null;
+                try {
+                    switch (t) {
+                        case MATCHES_REGEX -> pat = Pattern.compile(v);
+                        case NUMBER_GTE, NUMBER_LTE -> {
+                            tb = new BigDecimal(v); // same syntax the old BigDecimal path accepted
+                            if (isPlainInteger(v)) { integral = true; tl = Long.parseLong(v); }
+                            td = tb.doubleValue();
+                            if (!Double.isFinite(td)) throw new NumberFormatException(v);
+                        }
+                        default -> { }
+                    }
+                } catch (RuntimeException ex) {
+                    err = (t == Type.MATCHES_REGEX ? "invalid regex: " : "invalid number: ") + v;
+                }
+                pattern=pat; error=err; integralThreshold=integral; thresholdLong=tl; thresholdDouble=td; thresholdBig=tb;
+                thresholdExact = tb != null && significantDigits(v) <= EXACT_DIGITS;
+            }
+
+            // compiled fields derive from these four
+            @Override public boolean equals(Object o){ return o instanceof Check c && placeholder.equals(c.placeholder) && type==c.type
+                    && Objects.equals(value, c.value) && regexBudgetNanos==c.regexBudgetNanos; }
+            @Override public int hashCode(){ return Objects.hash(placeholder, type, value, regexBudgetNanos); }
+
+            /** Evaluate against an already-resolved placeholder value. Never throws. */
+            public boolean test(String val) {
+                if (error != null || val == null) return false;
+                return switch (type) {
+                    case EQUALS -> val.equals(value);
+                    case NOT_EQUALS -> !val.equals(value);
+                    case CONTAINS -> val.contains(value);
+                    case MATCHES_REGEX -> matchesWithinBudget(val);
+                    case NUMBER_GTE -> compareNumber(val) >= 0;
+                    case NUMBER_LTE -> { int c = compareNumber(val); yield c != NOT_A_NUMBER && c <= 0; }
+                };
+            }
+
+            private static final int NOT_A_NUMBER = Integer.MIN_VALUE;
+
+            /**
+             * Sign of (val - threshold); NOT_A_NUMBER if val is not a decimal in BigDecimal's syntax.
+             * The syntax is checked up front so {@code Double.parseDouble} never sees its extra forms
+             * (NaN, Infinity, hex floats, d/f suffixes). Doubles only compare values of at most
+             * {@link #EXACT_DIGITS} significant digits on both sides; longer ones use BigDecimal.
+             */
+            private int compareNumber(String val) {
+                try {
+                    if (integralThreshold && isPlainInteger(val)) return Long.compare(Long.parseLong(val), thresholdLong);
+                    int digits = significantDigits(val);
+                    if (digits < 0) return NOT_A_NUMBER;
+                    if (digits > EXACT_DIGITS || !thresholdExact) {
+                        return new BigDecimal(val).compareTo(thresholdBig);
+                    }
+                    double d = Double.parseDouble(val);
+                    if (!Double.isFinite(d)) return NOT_A_NUMBER; // out of double range
+                    return d < thresholdDouble ? -1 : (d > thresholdDouble ? 1 : 0);
+                } catch (NumberFormatException e) {
+                    return NOT_A_NUMBER;
+                }
+            }
+
+            private boolean matchesWithinBudget(String val) {
+                if (regexBudgetNanos <= 0) return pattern.matcher(val).matches();
+                try {
+                    return pattern.matcher(new BudgetedChars(val, System.nanoTime() + regexBudgetNanos)).matches();
+                } catch (RegexBudgetExceeded e) {
+                    return false;
+                }
+            }
+
+            /** Decimal digits any double round-trips exactly. */
+            private static final int EXACT_DIGITS = 15;
+
+            /**
+             * Mantissa digits after leading zeros, or -1 unless {@code s} is
+             * [sign] digits [. digits] [e|E [sign] digits] with at least one mantissa digit: what BigDecimal(String) takes.
+             */
+            private static int significantDigits(String s) {
+                int n = s.length(), i = 0, digits = 0, significant = 0;
+                if (i < n && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+                for (; i < n && s.charAt(i) >= '0' && s.charAt(i) <= '9'; i++) {
+                    digits++;
+                    if (significant > 0 || s.charAt(i) != '0') significant++;
+                }
+                if (i < n && s.charAt(i) == '.') {
+                    for (i++; i < n && s.charAt(i) >= '0' && s.charAt(i) <= '9'; i++) {
+                        digits++;
+                        if (significant > 0 || s.charAt(i) != '0') significant++;
+                    }
+                }
+                if (digits == 0) return -1;
+                if (i < n && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+                    i++;
+                    if (i < n && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+                    int exp = i;
+                    for (; i < n && s.charAt(i) >= '0' && s.charAt(i) <= '9'; i++) { }
+                    if (i == exp) return -1;
+                }
+                return i == n ? significant : -1;
+            }
+
+            /** Up to 18 digits with an optional sign: always fits a long. */
+            private static boolean isPlainInteger(String s) {
+                int n = s.length(), i = (n > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+')) ? 1 : 0;
+                if (n == i || n - i > 18) return false;
+                for (; i < n; i++) { char ch = s.charAt(i); if (ch < '0' || ch > '9') return false; }
+                return true;
+            }
+        }
+    }
+
+    /** Thrown out of a regex match that ran past its time budget. */
+    private static final class RegexBudgetExceeded extends RuntimeException {
+        RegexBudgetExceeded() { super(null, null, false, false); }
+    }
+
+    /**
+     * CharSequence that aborts the regex engine once a deadline passes. The matcher reads
+     * characters constantly, so checking the clock every 256 reads bounds catastrophic
+     * backtracking without touching well-behaved patterns.
+     */
+    private static final class BudgetedChars implements CharSequence {
+        private final String s; private final long deadline; private int reads;
+        BudgetedChars(String s, long deadline) { this.s = s; this.deadline = deadline; }
+        @Override public char charAt(int index) {
+            if ((++reads & 0xFF) == 0 && System.nanoTime() > deadline) throw new RegexBudgetExceeded();
+            return s.charAt(index);
         }
+        @Override public int length() { return s.length(); }
+        @Override public CharSequence subSequence(int start, int end) { return new BudgetedChars(s.substring(start, end), deadline); }
+        @Override public String toString() { return s; }
     }
 
     public static final class EconomyRule {
-        public boolean enabled; public String timing; public BigDecimal minBalance; public BigDecimal cost; public boolean refundOnDeny;
-        public EconomyRule(boolean e, String t, BigDecimal min, BigDecimal cost, boolean refund){
-            enabled=e; timing=t; minBalance=min; this.cost=cost; refundOnDeny=refund;
+        public final boolean enabled; public final String timing; public final BigDecimal minBalance; public final BigDecimal cost; public final boolean refundOnDeny;
+        final int set;
+        public EconomyRule(boolean e, String t, BigDecimal min, BigDecimal cost, boolean refund){ this(e, t, min, cost, refund, ALL_SET); }
+        public EconomyRule(boolean e, String t, BigDecimal min, BigDecimal cost, boolean refund, int set){
+            enabled=e; timing=t; minBalance=min; this.cost=cost; refundOnDeny=refund; this.set=set;
         }
-        public EconomyRule copy(){ return new EconomyRule(enabled, timing, minBalance, cost, refundOnDeny); }
-        public void override(EconomyRule o){ if(o==null)return; enabled=o.enabled; if(o.timing!=null)timing=o.timing;
-            if(o.minBalance!=null)minBalance=o.minBalance; if(o.cost!=null)cost=o.cost; refundOnDeny=o.refundOnDeny; }
+        public EconomyRule merge(EconomyRule o){ if(o==null)return this; return new EconomyRule((o.set&1)!=0?o.enabled:enabled,
+                (o.set&2)!=0&&o.timing!=null?o.timing:timing, (o.set&4)!=0&&o.minBalance!=null?o.minBalance:minBalance,
+                (o.set&8)!=0&&o.cost!=null?o.cost:cost, (o.set&16)!=0?o.refundOnDeny:refundOnDeny, set|o.set); }
+        EconomyRule resolved(){ return set==ALL_SET?this:new EconomyRule(enabled, timing, minBalance, cost, refundOnDeny); }
+        @Override public boolean equals(Object o){ return o instanceof EconomyRule r && enabled==r.enabled && refundOnDeny==r.refundOnDeny
+                && set==r.set && Objects.equals(timing, r.timing) && Objects.equals(minBalance, r.minBalance) && Objects.equals(cost, r.cost); }
+        @Override public int hashCode(){ return Objects.hash(enabled, timing, minBalance, cost, refundOnDeny, set); }
     }
 
     public static final class WorldOverride {
         public final Boolean restricted;
         public final Integer denyCooldownSeconds;
+        public final Integer admissionTtlSeconds;
         public final RuleLogic ruleLogic;
         public final Rules rules;
-        public WorldOverride(Boolean r, Integer cd, RuleLogic logic, Rules rules){
-            this.restricted=r; this.denyCooldownSeconds=cd; this.ruleLogic=logic; this.rules=rules;
+        public WorldOverride(Boolean r, Integer cd, Integer ticketTtl, RuleLogic logic, Rules rules){
+            this.restricted=r; this.denyCooldownSeconds=cd; this.admissionTtlSeconds=ticketTtl; this.ruleLogic=logic; this.rules=rules;
+        }
+        /** {@code top}'s set fields win; unset ones (null) come from {@code base}. */
+        public static WorldOverride layer(WorldOverride base, WorldOverride top){
+            if (base == null) return top;
+            if (top == null) return base;
+            return new WorldOverride(top.restricted!=null?top.restricted:base.restricted,
+                    top.denyCooldownSeconds!=null?top.denyCooldownSeconds:base.denyCooldownSeconds,
+                    top.admissionTtlSeconds!=null?top.admissionTtlSeconds:base.admissionTtlSeconds,
+                    top.ruleLogic!=null?top.ruleLogic:base.ruleLogic, Rules.layer(base.rules, top.rules));
+        }
+    }
+
+    /** {@code world-groups:} entry: override applied to every world the selector matches. */
+    public record WorldGroup(String name, WorldSelector selector, WorldOverride override) {}
+
+    /** Per-player placeholder value cache settings ({@code placeholder-cache:}). */
+    public record PlaceholderCache(boolean enabled, long defaultTtlMs, Map<String, Long> ttlMs) {
+        public long ttlMsFor(String placeholder) {
+            Long t = ttlMs.get(placeholder);
+            return t != null ? t : defaultTtlMs;
         }
     }
 
     /* view returned by effective() */
-    public record EffectiveRules(boolean restricted, int denyCooldownSeconds, RuleLogic ruleLogic, Rules rules) {}
+    public record EffectiveRules(boolean restricted, int denyCooldownSeconds, int admissionTtlSeconds,
+                                 RuleLogic ruleLogic, Rules rules) {}
 }
@@ -0,0 +1,66 @@
+package com.alphine.mysticWorlds.config;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Selectors indexed by literal prefix in a char trie. Resolving a world walks its name once,
+ * collecting only selectors whose prefix it starts with, then tries those in config order
+ * (first match wins). Cost follows the name length, not the number of selectors.
+ */
+final class WorldMatcher {
+    record Match(int index, String[] captures) {}
+
+    private static final int[] NONE = new int[0];
+
+    private static final class Node {
+        char[] keys = new char[0];
+        Node[] kids = new Node[0];
+        int[] here = NONE; // selector indices whose prefix ends at this node
+
+        Node child(char c) {
+            for (int i = 0; i < keys.length; i++) if (keys[i] == c) return kids[i];
+            return null;
+        }
+        Node childOrAdd(char c) {
+            Node n = child(c);
+            if (n != null) return n;
+            n = new Node();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            kids = Arrays.copyOf(kids, kids.length + 1);
+            keys[keys.length - 1] = c;
+            kids[kids.length - 1] = n;
+            return n;
+        }
+    }
+
+    private final List<WorldSelector> selectors;
+    private final Node root = new Node();
+
+    WorldMatcher(List<WorldSelector> selectors) {
+        this.selectors = List.copyOf(selectors);
+        for (int i = 0; i < this.selectors.size(); i++) {
+            Node n = root;
+            for (char c : this.selectors.get(i).literalPrefix.toCharArray()) n = n.childOrAdd(c);
+            n.here = Arrays.copyOf(n.here, n.here.length + 1);
+            n.here[n.here.length - 1] = i;
+        }
+    }
+
+    /** First selector (config order) matching {@code world}, or null. */
+    Match find(String world) {
+        int best = Integer.MAX_VALUE;
+        String[] bestCaps = null;
+        Node n = root;
+        for (int depth = 0; n != null; depth++) {
+            for (int idx : n.here) {
+                if (idx >= best) continue;
+                String[] caps = selectors.get(idx).match(world);
+                if (caps != null) { best = idx; bestCaps = caps; }
+            }
+            if (depth == world.length()) break;
+            n = n.child(world.charAt(depth));
+        }
+        return bestCaps == null ? null : new Match(best, bestCaps);
+    }
+}
@@ -0,0 +1,114 @@
+package com.alphine.mysticWorlds.config;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A world-name pattern from {@code world-groups}: a glob ({@code island_*}, {@code arena_??})
+ * or a full regex. Every glob wildcard and every regex group is a capture, usable as
+ * {@code {1}}, {@code {2}}… in the group's permission nodes. {@link #literalPrefix} is the
+ * fixed text every match starts with, used to index selectors in a trie.
+ */
+public final class WorldSelector {
+    public final String source;
+    final String literalPrefix;
+    private final Pattern pattern;
+
+    private WorldSelector(String source, String literalPrefix, Pattern pattern) {
+        this.source = source;
+        this.literalPrefix = literalPrefix;
+        this.pattern = pattern;
+    }
+
+    public static WorldSelector glob(String glob) {
+        StringBuilder re = new StringBuilder(glob.length() + 16);
+        int prefixEnd = -1;
+        StringBuilder lit = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (prefixEnd < 0) prefixEnd = i;
+                if (!lit.isEmpty()) { re.append(Pattern.quote(lit.toString())); lit.setLength(0); }
+                re.append(c == '*' ? "(.*)" : "(.)");
+            } else {
+                lit.append(c);
+            }
+        }
+        if (!lit.isEmpty()) re.append(Pattern.quote(lit.toString()));
+        String prefix = prefixEnd < 0 ? glob : glob.substring(0, prefixEnd);
+        return new WorldSelector(glob, prefix, Pattern.compile(re.toString()));
+    }
+
+    /** Whole-name regex ({@code ^}/{@code $} optional). */
+    public static WorldSelector regex(String regex) {
+        return new WorldSelector(regex, regexPrefix(regex), Pattern.compile(regex));
+    }
+
+    /** {@code [whole, group1, group2…]}, or null if {@code world} doesn't match. */
+    public String[] match(String world) {
+        if (!world.startsWith(literalPrefix)) return null;
+        Matcher m = pattern.matcher(world);
+        if (!m.matches()) return null;
+        String[] caps = new String[m.groupCount() + 1];
+        for (int i = 0; i <= m.groupCount(); i++) caps[i] = m.group(i);
+        return caps;
+    }
+
+    /**
+     * Leading literal run of a regex; conservative (stops at any metacharacter, so at the first
+     * group). Empty when the pattern has a top-level {@code |}: {@code a_\d+|b_.*} matches names
+     * that don't start with {@code a_}.
+     */
+    private static String regexPrefix(String regex) {
+        if (hasTopLevelAlternation(regex)) return "";
+        int i = regex.startsWith("^") ? 1 : 0;
+        StringBuilder sb = new StringBuilder();
+        for (; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if ("\\.[]{}()*+?^$|".indexOf(c) >= 0) {
+                // a quantifier makes the previous char optional/repeatable
+                if ((c == '*' || c == '?' || c == '{') && !sb.isEmpty()) sb.setLength(sb.length() - 1);
+                break;
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /** A {@code |} outside every group and character class, not escaped. */
+    private static boolean hasTopLevelAlternation(String regex) {
+        int depth = 0;
+        boolean inClass = false;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') { i++; continue; }
+            if (inClass) { if (c == ']') inClass = false; continue; }
+            switch (c) {
+                case '[' -> inClass = true;
+                case '(' -> depth++;
+                case ')' -> depth = Math.max(0, depth - 1);
+                case '|' -> { if (depth == 0) return true; }
+                default -> { }
+            }
+        }
+        return false;
+    }
+
+    /** Replaces {@code {n}} with capture {@code n}; unknown indices are left as-is. */
+    static String fill(String s, String[] caps) {
+        if (s == null || caps == null || s.indexOf('{') < 0) return s;
+        StringBuilder out = new StringBuilder(s.length() + 16);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            int close = c == '{' ? s.indexOf('}', i) : -1;
+            if (close > i + 1) {
+                try {
+                    int n = Integer.parseInt(s, i + 1, close, 10);
+                    if (n >= 0 && n < caps.length) { out.append(caps[n]); i = close; continue; }
+                } catch (NumberFormatException ignore) { }
+            }
+            out.append(c);
+        }
+        return out.toString();
+    }
+}
@@ -8,15 +8,57 @@ import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
 
 public final class EconomyBridge {
+    private static final int MAX_ACCOUNTS = 2048;                 // cached ServiceIO handles
+    private static final long BALANCE_TTL_NANOS = 2_000_000_000L;   // balance reuse window
+    private static final long NEGATIVE_TTL_NANOS = 30_000_000_000L; // "no account" / "no economy" re-check
+    private static final long PRELOGIN_WAIT_MS = 1_500L;              // cap on holding a login for the account
+
     private EconomyController serviceIO; // null if missing
     private Economy vault;               // null if missing
+    private Plugin plugin;
+    private volatile long noEconomyUntil; // nanoTime; while in the future, skip provider lookup
+    private final AtomicBoolean backendFailing = new AtomicBoolean(); // logged; cleared on the next good lookup
+
+    private record CachedAccount(Account account, long expiresAt) {} // account == null -> negative entry
+    private record CachedBalance(BigDecimal balance, long expiresAt) {}
+    private final Map<UUID, CachedAccount> accounts = new ConcurrentHashMap<>();
+    private final Map<UUID, CachedBalance> balances = new ConcurrentHashMap<>();
+    private final Map<UUID, BigDecimal> held = new HashMap<>(); // open hold totals; guarded by itself
+
+    /**
+     * An amount earmarked by {@link #reserve}, not yet moved. Only this plugin's bookkeeping sees
+     * it; the backend balance is untouched. Settled exactly once, by {@link #commit} (one
+     * withdrawal) or {@link #release} (local only, no backend call).
+     */
+    public static final class Hold {
+        private final UUID player;
+        private final BigDecimal min, amount;
+        private final AtomicBoolean open = new AtomicBoolean(true);
+
+        private Hold(UUID player, BigDecimal min, BigDecimal amount) {
+            this.player = player;
+            this.min = min;
+            this.amount = amount;
+        }
+
+        public BigDecimal amount() { return amount; }
+    }
 
     public void init(Plugin plugin) {
+        this.plugin = plugin;
         try {
             serviceIO = Bukkit.getServicesManager().load(EconomyController.class);
             if (serviceIO != null) plugin.getLogger().info("[MysticWorlds] ServiceIO EconomyController loaded.");
@@ -29,37 +71,115 @@ public final class EconomyBridge {
                 plugin.getLogger().info("[MysticWorlds] Vault economy loaded (fallback).");
             }
         }
+        if (serviceIO == null && vault == null) noEconomyUntil = System.nanoTime() + NEGATIVE_TTL_NANOS;
     }
 
     public boolean isAvailable() {
+        if (serviceIO != null || vault != null) return true;
+        // negative cache: re-probe for a late-registering provider at most every 30s
+        if (plugin == null || System.nanoTime() - noEconomyUntil < 0) return false;
+        init(plugin);
         return serviceIO != null || vault != null;
     }
 
+    /* ------------------------ caches ------------------------ */
+
+    /** Resolve the account handle and balance ahead of time (join); ServiceIO loads asynchronously. */
+    public void warm(Player player) {
+        if (!isAvailable()) return;
+        getBalanceBig(player);
+    }
+
+    /**
+     * Pre-login, on the login thread before any Player exists: load the ServiceIO account and
+     * balance by UUID, waiting at most {@link #PRELOGIN_WAIT_MS}, so spawn-time checks read them
+     * from cache. Vault's API is synchronous and left to {@link #warm(Player)}.
+     */
+    public void warm(UUID uuid) {
+        if (!isAvailable() || serviceIO == null) return;
+        try {
+            getOrLoadAccount(uuid)
+                    .thenAccept(opt -> opt.ifPresent(acc -> remember(uuid, acc.getBalance())))
+                    .get(PRELOGIN_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ignored) {
+            // slow or failing backend: the join-time warm and the gate retry on their own
+        }
+    }
+
+    /** Drop everything cached for a player (quit). */
+    public void evict(UUID uuid) {
+        accounts.remove(uuid);
+        balances.remove(uuid);
+        synchronized (held) { held.remove(uuid); }
+    }
+
+    private BigDecimal cachedBalance(UUID uuid) {
+        CachedBalance b = balances.get(uuid);
+        return (b != null && System.nanoTime() - b.expiresAt() < 0) ? b.balance() : null;
+    }
+
+    private BigDecimal remember(UUID uuid, BigDecimal balance) {
+        balances.put(uuid, new CachedBalance(balance, System.nanoTime() + BALANCE_TTL_NANOS));
+        return balance;
+    }
+
     /* ------------------------ ServiceIO helpers ------------------------ */
 
     private CompletableFuture<Optional<Account>> getOrLoadAccount(UUID uuid) {
+        CachedAccount c = accounts.get(uuid);
+        if (c != null) {
+            if (c.account() != null) return CompletableFuture.completedFuture(Optional.of(c.account()));
+            if (System.nanoTime() - c.expiresAt() < 0) return CompletableFuture.completedFuture(Optional.empty());
+        }
+
         var cached = serviceIO.getAccount(uuid);
-        if (cached.isPresent()) return CompletableFuture.completedFuture(cached);
+        if (cached.isPresent()) return CompletableFuture.completedFuture(cacheAccount(uuid, cached));
 
         return serviceIO.tryGetAccount(uuid)
                 .thenCompose(opt -> opt.isPresent()
                         ? CompletableFuture.completedFuture(opt)
-                        : serviceIO.createAccount(uuid).thenApply(Optional::of));
+                        : serviceIO.createAccount(uuid).thenApply(Optional::ofNullable))
+                .handle((opt, t) -> {
+                    if (t == null) {
+                        backendFailing.set(false);
+                        return cacheAccount(uuid, opt);
+                    }
+                    // transient backend error: deny this attempt but don't remember "no account"
+                    if (backendFailing.compareAndSet(false, true) && plugin != null) {
+                        plugin.getLogger().log(Level.WARNING, "[MysticWorlds] ServiceIO account lookup failed; retrying on next use", t);
+                    }
+                    return Optional.<Account>empty();
+                });
+    }
+
+    private Optional<Account> cacheAccount(UUID uuid, Optional<Account> opt) {
+        if (accounts.size() >= MAX_ACCOUNTS) {
+            // keep the hot set: online players stay, everyone else goes
+            accounts.keySet().removeIf(id -> Bukkit.getPlayer(id) == null);
+            if (accounts.size() >= MAX_ACCOUNTS) return opt;
+        }
+        accounts.put(uuid, new CachedAccount(opt.orElse(null), System.nanoTime() + NEGATIVE_TTL_NANOS));
+        return opt;
     }
 
     /* ------------------------ Public API ------------------------ */
 
     public CompletableFuture<Boolean> deposit(Player player, double amount) {
+        balances.remove(player.getUniqueId());
         if (serviceIO != null) {
             BigDecimal bd = BigDecimal.valueOf(amount);
             return getOrLoadAccount(player.getUniqueId())
                     .thenApply(opt -> opt.map(acc -> {
                         acc.deposit(bd); // returns new balance (BigDecimal), we just treat success as true
                         return true;
-                    }).orElse(false));
+                    }).orElse(false))
+                    .whenComplete((ok, t) -> balances.remove(player.getUniqueId()));
         }
         if (vault != null) {
             boolean ok = vault.depositPlayer(player, amount).transactionSuccess();
+            balances.remove(player.getUniqueId());
             return CompletableFuture.completedFuture(ok);
         }
         return CompletableFuture.completedFuture(false);
@@ -67,32 +187,123 @@ public final class EconomyBridge {
 
     public CompletableFuture<Boolean> withdraw(Player player, double amount) {
         if (amount <= 0) return CompletableFuture.completedFuture(true);
+        return withdrawIfAtLeast(player, BigDecimal.ZERO, BigDecimal.valueOf(amount));
+    }
+
+    /**
+     * Check-and-charge in one step: withdraws {@code amount} only if the balance is at least
+     * {@code min} and covers it. ServiceIO compares and withdraws on the loaded account inside
+     * {@code synchronized (account)}, which orders this plugin's own charges but not writes from
+     * other plugins; Vault leaves the funds check to {@code withdrawPlayer} and only asks
+     * {@code has} first when {@code min} is above the amount. {@code amount == 0} is a cached
+     * balance check.
+     */
+    public CompletableFuture<Boolean> withdrawIfAtLeast(Player player, BigDecimal min, BigDecimal amount) {
+        UUID uuid = player.getUniqueId();
+        if (amount.signum() <= 0) {
+            if (min.signum() <= 0) return CompletableFuture.completedFuture(true);
+            return getBalanceBig(player).thenApply(b -> b.compareTo(min) >= 0);
+        }
 
         if (serviceIO != null) {
-            BigDecimal bd = BigDecimal.valueOf(amount);
-            return getOrLoadAccount(player.getUniqueId())
+            return getOrLoadAccount(uuid)
                     .thenApply(opt -> opt.map(acc -> {
-                        // BLOCK if not enough funds
-                        if (acc.getBalance().compareTo(bd) < 0) return false;
-                        acc.withdraw(bd);
-                        return true;
+                        synchronized (acc) {
+                            BigDecimal balance = acc.getBalance();
+                            if (balance.compareTo(min) < 0 || balance.compareTo(amount) < 0) {
+                                remember(uuid, balance);
+                                return false;
+                            }
+                            remember(uuid, acc.withdraw(amount));
+                            return true;
+                        }
                     }).orElse(false));
         }
         if (vault != null) {
-            boolean ok = vault.withdrawPlayer(player, amount).transactionSuccess();
-            return CompletableFuture.completedFuture(ok);
+            balances.remove(uuid);
+            if (min.compareTo(amount) > 0 && !vault.has(player, min.doubleValue())) {
+                return CompletableFuture.completedFuture(false);
+            }
+            var r = vault.withdrawPlayer(player, amount.doubleValue());
+            if (r.transactionSuccess()) remember(uuid, BigDecimal.valueOf(r.balance));
+            return CompletableFuture.completedFuture(r.transactionSuccess());
         }
         return CompletableFuture.completedFuture(false);
     }
 
+    /* ------------------------ holds ------------------------ */
+
+    /**
+     * Earmarks {@code amount} if the live balance, less this player's open holds, is at least
+     * {@code min} and covers it. Nothing is locked or moved at the backend: the hold only stops
+     * overlapping reservations in this plugin from counting the same funds, and {@link #commit}
+     * re-checks the balance when it withdraws. Completes with null when the funds aren't there.
+     */
+    public CompletableFuture<Hold> reserve(Player player, BigDecimal min, BigDecimal amount) {
+        UUID uuid = player.getUniqueId();
+        return liveBalance(player).thenApply(balance -> {
+            synchronized (held) {
+                BigDecimal free = balance.subtract(held.getOrDefault(uuid, BigDecimal.ZERO));
+                if (free.compareTo(min) < 0 || free.compareTo(amount) < 0) return null;
+                if (amount.signum() > 0) held.merge(uuid, amount, BigDecimal::add);
+            }
+            return new Hold(uuid, min, amount);
+        });
+    }
+
+    /** Charges a hold with one {@link #withdrawIfAtLeast}; false if it was settled already or the funds are gone. */
+    public CompletableFuture<Boolean> commit(Player player, Hold hold) {
+        if (!hold.open.compareAndSet(true, false)) return CompletableFuture.completedFuture(false);
+        if (hold.amount.signum() <= 0) return CompletableFuture.completedFuture(true);
+        return withdrawIfAtLeast(player, hold.min, hold.amount).whenComplete((ok, t) -> unhold(hold));
+    }
+
+    /** Drops a hold without touching the backend. */
+    public void release(Hold hold) {
+        if (hold.open.compareAndSet(true, false)) unhold(hold);
+    }
+
+    private void unhold(Hold hold) {
+        if (hold.amount.signum() <= 0) return;
+        synchronized (held) {
+            held.computeIfPresent(hold.player, (k, v) -> {
+                BigDecimal left = v.subtract(hold.amount);
+                return left.signum() > 0 ? left : null;
+            });
+        }
+    }
+
+    /** Players with an open hold. */
+    public int holds() {
+        synchronized (held) { return held.size(); }
+    }
+
+    /** Current balance straight from the backend, bypassing (and refreshing) the cache. */
+    private CompletableFuture<BigDecimal> liveBalance(Player player) {
+        UUID uuid = player.getUniqueId();
+        if (serviceIO != null) {
+            return getOrLoadAccount(uuid).thenApply(opt -> opt.map(acc -> {
+                synchronized (acc) { return remember(uuid, acc.getBalance()); }
+            }).orElse(BigDecimal.ZERO));
+        }
+        if (vault != null) {
+            return CompletableFuture.completedFuture(remember(uuid, BigDecimal.valueOf(vault.getBalance(player))));
+        }
+        return CompletableFuture.completedFuture(BigDecimal.ZERO);
+    }
+
     /** BigDecimal balance (native to ServiceIO). */
     public CompletableFuture<BigDecimal> getBalanceBig(Player player) {
+        UUID uuid = player.getUniqueId();
+        BigDecimal hit = cachedBalance(uuid);
+        if (hit != null) return CompletableFuture.completedFuture(hit);
+
         if (serviceIO != null) {
-            return getOrLoadAccount(player.getUniqueId())
-                    .thenApply(opt -> opt.map(Account::getBalance).orElse(BigDecimal.ZERO));
+            return getOrLoadAccount(uuid)
+                    .thenApply(opt -> remember(uuid, opt.map(Account::getBalance).orElse(BigDecimal.ZERO)));
         }
         if (vault != null) {
-            return CompletableFuture.completedFuture(BigDecimal.valueOf(vault.getBalance(player)));
+            return CompletableFuture.completedFuture(remember(uuid, BigDecimal.valueOf(vault.getBalance(player))));
         }
         return CompletableFuture.completedFuture(BigDecimal.ZERO);
     }
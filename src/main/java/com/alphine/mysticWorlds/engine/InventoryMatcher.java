@@ -0,0 +1,209 @@
+package com.alphine.mysticWorlds.engine;
+
+import com.alphine.mysticWorlds.config.ConfigModel;
+import org.bukkit.Material;
+import org.bukkit.Tag;
+import org.bukkit.block.ShulkerBox;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.BlockStateMeta;
+import org.bukkit.inventory.meta.BundleMeta;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.*;
+
+/**
+ * Single-pass item matcher for {@link ConfigModel.ItemsRule}.
+ * <p>
+ * Every source (inventory, optional ender chest, shulker and bundle contents) is read once
+ * into a histogram bucketed by the materials the rule asks for; every {@code any_of} set is
+ * then resolved against that histogram. Plans are packed {@code [slotRef, amount, ...]} pairs
+ * (see {@link RuleEngine.Decision#consumeSlot}) whose slot is a {@link SlotRef}.
+ */
+public final class InventoryMatcher {
+    private static final EnumSet<Material> BUNDLES = EnumSet.noneOf(Material.class);
+    static {
+        for (Material m : Material.values()) {
+            if (m == Material.BUNDLE || m.name().endsWith("_BUNDLE")) BUNDLES.add(m);
+        }
+    }
+
+    private InventoryMatcher() {}
+
+    /** One candidate stack; {@code id} indexes the per-set "already taken" counters. */
+    private record Entry(int id, int ref, ItemStack stack) {}
+
+    private static final class Histogram {
+        final List<Entry>[] buckets;
+        int size;
+        @SuppressWarnings("unchecked")
+        Histogram(int n) { buckets = new List[n]; }
+        void add(int bucket, int ref, ItemStack it) {
+            List<Entry> b = buckets[bucket];
+            if (b == null) buckets[bucket] = b = new ArrayList<>(4);
+            b.add(new Entry(size++, ref, it));
+        }
+    }
+
+    /** Plan for the first set that matches; empty plan if there are no sets; null if none match. */
+    public static int[] match(Player p, ConfigModel.ItemsRule rule) {
+        if (rule.anyOf.isEmpty()) return RuleEngine.Decision.NO_PLAN; // treat as pass (no consumption)
+
+        Histogram h = new Histogram(rule.bucketCount());
+        collect(p.getInventory(), SlotRef.INVENTORY, rule, h);
+        if (rule.searchEnderChest) collect(p.getEnderChest(), SlotRef.ENDER_CHEST, rule, h);
+        if (h.size == 0) return null;
+
+        int[] used = new int[h.size];
+        for (var set : rule.anyOf) {
+            var plan = resolve(set, rule, h, used);
+            if (plan != null) return plan;
+        }
+        return null;
+    }
+
+    /**
+     * Hash of the stacks {@link #match} could look at: rule materials and searched containers
+     * (whose hash covers their contents), with their slots. No histogram is built.
+     */
+    public static long fingerprint(Player p, ConfigModel.ItemsRule rule) {
+        long h = fingerprint(p.getInventory(), rule, 17L);
+        return rule.searchEnderChest ? fingerprint(p.getEnderChest(), rule, h) : h;
+    }
+
+    private static long fingerprint(Inventory inv, ConfigModel.ItemsRule rule, long h) {
+        for (int slot = 0; slot < inv.getSize(); slot++) {
+            ItemStack it = inv.getItem(slot);
+            if (it == null) continue;
+            Material m = it.getType();
+            if (rule.bucketOf(m) >= 0
+                    || (rule.searchShulkers && Tag.SHULKER_BOXES.isTagged(m))
+                    || (rule.searchBundles && BUNDLES.contains(m))) {
+                h = (h * 31 + slot) * 31 + it.hashCode();
+            }
+        }
+        return h * 31 + inv.getSize();
+    }
+
+    private static void collect(Inventory inv, int source, ConfigModel.ItemsRule rule, Histogram h) {
+        for (int slot = 0; slot < inv.getSize(); slot++) {
+            ItemStack it = inv.getItem(slot);
+            if (it == null) continue;
+            Material m = it.getType();
+            int b = rule.bucketOf(m);
+            if (b >= 0) h.add(b, SlotRef.of(source, slot, -1), it);
+
+            if (rule.searchShulkers && Tag.SHULKER_BOXES.isTagged(m)) {
+                if (it.getItemMeta() instanceof BlockStateMeta bsm && bsm.getBlockState() instanceof ShulkerBox box) {
+                    var inner = box.getInventory();
+                    for (int i = 0; i < inner.getSize(); i++) addNested(inner.getItem(i), source, slot, i, rule, h);
+                }
+            } else if (rule.searchBundles && BUNDLES.contains(m)) {
+                if (it.getItemMeta() instanceof BundleMeta bm) {
+                    var items = bm.getItems();
+                    for (int i = 0; i < items.size(); i++) addNested(items.get(i), source, slot, i, rule, h);
+                }
+            }
+        }
+    }
+
+    private static void addNested(ItemStack it, int source, int slot, int inner, ConfigModel.ItemsRule rule, Histogram h) {
+        if (it == null) return;
+        int b = rule.bucketOf(it.getType());
+        if (b >= 0) h.add(b, SlotRef.of(source, slot, inner), it);
+    }
+
+    private static int[] resolve(ConfigModel.ItemSet set, ConfigModel.ItemsRule rule, Histogram h, int[] used) {
+        Arrays.fill(used, 0);
+        int[] plan = new int[8];
+        int n = 0;
+        for (var req : set.match) {
+            int needed = req.amount;
+            List<Entry> bucket = h.buckets[rule.bucketOf(req.material)];
+            if (bucket != null) {
+                for (Entry e : bucket) {
+                    if (needed == 0) break;
+                    int left = e.stack().getAmount() - used[e.id()];
+                    if (left <= 0 || !req.accepts(e.stack())) continue;
+                    int take = Math.min(needed, left);
+                    used[e.id()] += take;
+                    if (n == plan.length) plan = Arrays.copyOf(plan, n << 1);
+                    plan[n++] = e.ref();
+                    plan[n++] = take;
+                    needed -= take;
+                }
+            }
+            if (needed > 0) return null;
+        }
+        return Arrays.copyOf(plan, n);
+    }
+
+    /* ===================== consumption (player thread) ===================== */
+
+    /** Apply a plan produced by {@link #match}. Must run on the player's thread. */
+    public static void consume(Player p, RuleEngine.Decision plan) {
+        // nested takes (by plan index) are grouped per container so its meta is rewritten once
+        Map<Integer, List<Integer>> nested = null;
+        for (int c = 0; c < plan.consumeCount(); c++) {
+            int ref = plan.consumeSlot(c);
+            if (SlotRef.isNested(ref)) {
+                if (nested == null) nested = new LinkedHashMap<>();
+                nested.computeIfAbsent(SlotRef.container(ref), k -> new ArrayList<>()).add(c);
+                continue;
+            }
+            Inventory inv = sourceOf(p, ref);
+            int slot = SlotRef.slot(ref);
+            ItemStack it = inv.getItem(slot);
+            if (it == null) continue;
+            int left = it.getAmount() - plan.consumeAmount(c);
+            if (left <= 0) inv.setItem(slot, null);
+            else { it.setAmount(left); inv.setItem(slot, it); }
+        }
+        if (nested != null) {
+            for (var e : nested.entrySet()) {
+                Inventory inv = sourceOf(p, e.getKey());
+                int slot = SlotRef.slot(e.getKey());
+                ItemStack container = inv.getItem(slot);
+                if (container == null) continue;
+                takeNested(container, plan, e.getValue());
+                inv.setItem(slot, container);
+            }
+        }
+        p.updateInventory();
+    }
+
+    private static Inventory sourceOf(Player p, int ref) {
+        return SlotRef.source(ref) == SlotRef.ENDER_CHEST ? p.getEnderChest() : p.getInventory();
+    }
+
+    private static void takeNested(ItemStack container, RuleEngine.Decision plan, List<Integer> takes) {
+        ItemMeta meta = container.getItemMeta();
+        if (meta instanceof BlockStateMeta bsm && bsm.getBlockState() instanceof ShulkerBox box) {
+            var inv = box.getInventory();
+            for (int c : takes) {
+                int i = SlotRef.inner(plan.consumeSlot(c));
+                ItemStack it = inv.getItem(i);
+                if (it == null) continue;
+                int left = it.getAmount() - plan.consumeAmount(c);
+                if (left <= 0) inv.setItem(i, null);
+                else { it.setAmount(left); inv.setItem(i, it); }
+            }
+            bsm.setBlockState(box);
+            container.setItemMeta(bsm);
+        } else if (meta instanceof BundleMeta bm) {
+            List<ItemStack> items = new ArrayList<>(bm.getItems());
+            for (int c : takes) {
+                int i = SlotRef.inner(plan.consumeSlot(c));
+                if (i >= items.size() || items.get(i) == null) continue;
+                ItemStack it = items.get(i);
+                int left = it.getAmount() - plan.consumeAmount(c);
+                if (left <= 0) items.set(i, null);
+                else it.setAmount(left);
+            }
+            items.removeIf(Objects::isNull); // indices stay valid until here
+            bm.setItems(items);
+            container.setItemMeta(bm);
+        }
+    }
+}
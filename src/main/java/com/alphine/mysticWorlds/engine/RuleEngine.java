@@ -4,43 +4,146 @@ import com.alphine.mysticWorlds.MysticWorlds;
 import com.alphine.mysticWorlds.config.ConfigModel;
 import com.alphine.mysticWorlds.config.RuleLogic;
 import com.alphine.mysticWorlds.economy.EconomyBridge;
+import com.alphine.mysticWorlds.service.AdmissionTickets;
 import com.alphine.mysticWorlds.service.BypassService;
 import com.alphine.mysticWorlds.service.DenyCooldownService;
-import me.clip.placeholderapi.PlaceholderAPI;
+import com.alphine.mysticWorlds.service.GateMetrics;
+import com.alphine.mysticWorlds.service.PlaceholderCacheService;
+import com.alphine.mysticWorlds.service.TraceService;
 import org.bukkit.Bukkit;
-import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataContainer;
-import org.bukkit.persistence.PersistentDataType;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public final class RuleEngine {
 
-    public record Decision(boolean allowed,
-                           List<String> reasons,          // keys: bypass, permission, items, placeholder, economy, cooldown
-                           BigDecimal chargedAmount,      // 0 if none
-                           List<Consume> toConsume) {
-        public static Decision deny(String... reasons) {
-            return new Decision(false, Arrays.asList(reasons), BigDecimal.ZERO, List.of());
+    /** Why entry was refused. A {@link Decision} carries these as a bitmask. */
+    public enum Reason {
+        BYPASS("bypass"), PERMISSION("permission"), ITEMS("items"), PLACEHOLDER("placeholder"),
+        ECONOMY("economy"), COOLDOWN("cooldown");
+
+        private static final Reason[] ALL = values();
+        /** Message and metrics key ({@code messages.reason.<key>}). */
+        public final String key;
+        public final int bit;
+
+        Reason(String key) {
+            this.key = key;
+            this.bit = 1 << ordinal();
+        }
+
+        public static int count() { return ALL.length; }
+        public static Reason byOrdinal(int i) { return ALL[i]; }
+
+        /** Keys of the reasons in {@code mask}, in declaration order. Allocates; for probes and traces. */
+        public static List<String> keys(int mask) {
+            List<String> out = new ArrayList<>(Integer.bitCount(mask));
+            for (int m = mask; m != 0; m &= m - 1) out.add(ALL[Integer.numberOfTrailingZeros(m)].key);
+            return out;
         }
     }
-    public record Consume(int slot, int amount) {}
+
+    /**
+     * Gate outcome. Reasons are a {@link Reason} bitmask and the consumption plan is packed as
+     * {@code [slotRef, amount, slotRef, amount, ...]} ({@link SlotRef}). Outcomes without a charge
+     * or a plan are shared instances, so the usual allow and deny paths allocate nothing.
+     */
+    public static final class Decision {
+        static final int[] NO_PLAN = new int[0];
+        public static final Decision ALLOW = new Decision(true, 0, BigDecimal.ZERO, NO_PLAN);
+        private static final Decision[] DENIED = new Decision[1 << Reason.count()];
+        static {
+            for (int m = 0; m < DENIED.length; m++) DENIED[m] = new Decision(false, m, BigDecimal.ZERO, NO_PLAN);
+        }
+
+        private final boolean allowed;
+        private final int reasons;
+        private final BigDecimal charged;
+        private final int[] plan;
+
+        private Decision(boolean allowed, int reasons, BigDecimal charged, int[] plan) {
+            this.allowed = allowed;
+            this.reasons = reasons;
+            this.charged = charged;
+            this.plan = plan;
+        }
+
+        public static Decision deny(Reason reason) { return DENIED[reason.bit]; }
+        public static Decision deny(int reasonMask) { return DENIED[reasonMask & (DENIED.length - 1)]; }
+
+        /** Denied, but {@code charged} was kept (on-attempt charge without refund). */
+        static Decision deny(int reasonMask, BigDecimal charged) {
+            return charged.signum() == 0 ? deny(reasonMask) : new Decision(false, reasonMask, charged, NO_PLAN);
+        }
+
+        static Decision allow(BigDecimal charged, int[] plan) {
+            boolean noPlan = plan == null || plan.length == 0;
+            if (charged.signum() == 0 && noPlan) return ALLOW;
+            return new Decision(true, 0, charged, noPlan ? NO_PLAN : plan);
+        }
+
+        public boolean allowed() { return allowed; }
+        public int reasonMask() { return reasons; }
+        public boolean has(Reason r) { return (reasons & r.bit) != 0; }
+        /** Reason keys in {@link Reason} order. Allocates; meant for probes and traces. */
+        public List<String> reasons() { return Reason.keys(reasons); }
+        /** Amount charged (0 if none). */
+        public BigDecimal chargedAmount() { return charged; }
+
+        /** Number of (slot, amount) takes in the consumption plan. */
+        public int consumeCount() { return plan.length >> 1; }
+        /** {@link SlotRef}-encoded location of take {@code i}. */
+        public int consumeSlot(int i) { return plan[i << 1]; }
+        public int consumeAmount(int i) { return plan[(i << 1) + 1]; }
+
+        @Override public String toString() {
+            return "Decision[allowed=" + allowed + ", reasons=" + reasons() + ", charged=" + charged
+                    + ", plan=" + Arrays.toString(plan) + "]";
+        }
+    }
+
+    /**
+     * Outcome of {@link #evaluateNow}: either final right away, or the economy step still has
+     * to run. Everything before that step (cooldown, rule pipeline) has already happened.
+     */
+    public static final class Attempt {
+        private final Decision decision;
+        private final Supplier<CompletableFuture<Decision>> rest;
+
+        private Attempt(Decision decision, Supplier<CompletableFuture<Decision>> rest) {
+            this.decision = decision;
+            this.rest = rest;
+        }
+        static Attempt done(Decision d) { return new Attempt(d, null); }
+        static Attempt pending(Supplier<CompletableFuture<Decision>> rest) { return new Attempt(null, rest); }
+
+        public boolean isFinal() { return decision != null; }
+        /** The decision when {@link #isFinal()}, else null. */
+        public Decision decision() { return decision; }
+        /** Runs the remaining (async) step; completes immediately when already final. */
+        public CompletableFuture<Decision> finish() {
+            return decision != null ? CompletableFuture.completedFuture(decision) : rest.get();
+        }
+        /** True when {@link #finish()} will run the economy step. */
+        public boolean pendingEconomy() { return rest != null; }
+    }
 
     private final MysticWorlds plugin;
     private final EconomyBridge economy;
     private final BypassService bypass;
     private final DenyCooldownService cooldowns;
+    private final AdmissionTickets tickets;
+    private final PlaceholderCacheService placeholders;
     private final boolean papiPresent;
-    @SuppressWarnings("unused")
-    private final Consumer<String> dlog;
+    private final TraceService trace;
+    private final GateMetrics metrics;
+
+    private final RuleOrdering ordering = new RuleOrdering();
 
     private ConfigModel model;
 
@@ -49,276 +152,316 @@ public final class RuleEngine {
                       EconomyBridge economy,
                       BypassService bypass,
                       DenyCooldownService cooldowns,
-                      Consumer<String> dlog) {
+                      AdmissionTickets tickets,
+                      PlaceholderCacheService placeholders,
+                      TraceService trace,
+                      GateMetrics metrics) {
         this.plugin = plugin;
         this.model = model;
         this.economy = economy;
         this.bypass = bypass;
         this.cooldowns = cooldowns;
+        this.tickets = tickets;
+        this.placeholders = placeholders;
         this.papiPresent = Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null;
-        this.dlog = dlog;
+        this.trace = trace;
+        this.metrics = metrics;
     }
 
     /** Optional getter for other components that need the loaded model. */
     public ConfigModel model() { return model; }
-    public void updateModel(ConfigModel m) { this.model = m; }
+    /** A world unloaded: drop what the ordering learned for it. */
+    public void forget(String world) { ordering.forget(world); }
+
+    public void updateModel(ConfigModel m) {
+        this.model = m;
+        ordering.reset();
+    }
 
     public CompletableFuture<Decision> evaluate(Player p, String targetWorld) {
-        var eff = model.effective(targetWorld);
-        dlog.accept("[EVAL] world=" + targetWorld + " restricted=" + eff.restricted()
+        return evaluate(p, targetWorld, model.general.showDenyReasons);
+    }
+
+    /**
+     * Post-entry re-check (world change, rejoin): a live admission ticket for this world and
+     * config version stands in for the full pipeline, so nothing is scanned or charged twice.
+     */
+    public CompletableFuture<Decision> revalidate(Player p, String world) {
+        return revalidateNow(p, world).finish();
+    }
+
+    /** {@link #revalidate} with the synchronous steps run on the calling thread, as {@link #evaluateNow}. */
+    public Attempt revalidateNow(Player p, String world) {
+        if (tickets.holds(p.getUniqueId(), world, model.version)) {
+            if (trace.on(p.getUniqueId(), world)) trace.log("[EVAL] player=" + p.getName() + " world=" + world + " ticket → allow");
+            return Attempt.done(Decision.ALLOW);
+        }
+        return evaluateNow(p, world);
+    }
+
+    /**
+     * Evaluate entry for {@code p} into {@code targetWorld}.
+     * @param collectReasons under ALL logic, keep evaluating after the first failure so the
+     *                       decision lists every failing rule (deny messages, probe output)
+     */
+    public CompletableFuture<Decision> evaluate(Player p, String targetWorld, boolean collectReasons) {
+        return evaluateNow(p, targetWorld, collectReasons).finish();
+    }
+
+    public Attempt evaluateNow(Player p, String targetWorld) {
+        return evaluateNow(p, targetWorld, model.general.showDenyReasons);
+    }
+
+    /**
+     * Runs every synchronous step on the calling (player) thread. The result is final unless an
+     * economy lookup/charge is still needed, so callers can decide inside the event.
+     */
+    public Attempt evaluateNow(Player p, String targetWorld, boolean collectReasons) {
+        return evaluateNow(p, targetWorld, collectReasons, Mode.ENTRY);
+    }
+
+    /**
+     * Background re-check of a player already inside {@code world}: the non-economy rules only,
+     * with no cooldown, ticket or charge side effects (the entry fee was paid on the way in).
+     * An items rule that consumes on pass counts as passed: the key was handed in at the gate.
+     */
+    public boolean stillAdmitted(Player p, String world) {
+        return evaluateNow(p, world, false, Mode.SWEEP).decision().allowed();
+    }
+
+    /** True while {@code p} holds a live admission ticket for {@code world} under the current config. */
+    public boolean holdsTicket(Player p, String world) {
+        return tickets.holds(p.getUniqueId(), world, model.version);
+    }
+
+    /**
+     * Dry run for {@code /mw probe}: every rule, reasons collected, economy as a balance check
+     * only. Issues no ticket, marks no cooldown, charges nothing and records nothing.
+     */
+    public CompletableFuture<Decision> probe(Player p, String world) {
+        final ConfigModel m = model;
+        var eff = m.effective(world);
+        Decision rules = evaluateNow(p, world, true, Mode.PROBE).decision();
+        var eco = eff.rules().economy;
+        if (!eff.restricted() || !eco.enabled || eco.timing.equalsIgnoreCase("none")) {
+            return CompletableFuture.completedFuture(rules);
+        }
+        BigDecimal need = eco.minBalance.max(eco.cost);
+        return economy.getBalanceBig(p).thenApply(balance -> {
+            if (balance.compareTo(need) < 0) return Decision.deny(rules.reasonMask() | Reason.ECONOMY.bit);
+            return rules.allowed() ? Decision.allow(eco.cost, Decision.NO_PLAN) : rules; // what would be charged
+        });
+    }
+
+    /** {@link #signature} for "can't tell, re-evaluate". */
+    public static final long NO_SIGNATURE = 0L;
+
+    /**
+     * Fingerprint of what {@link #stillAdmitted} reads: config version, world, permission
+     * results and the searched inventories (not for items consumed on pass, which it skips).
+     * An unchanged fingerprint means an unchanged outcome.
+     * {@link #NO_SIGNATURE} when a placeholder rule makes the outcome time-dependent.
+     */
+    public long signature(Player p, String world) {
+        final ConfigModel m = model;
+        var rules = m.effective(world).rules();
+        if (rules.placeholder.enabled) return NO_SIGNATURE;
+        long h = m.version * 31 + world.hashCode();
+        if (rules.bypass.enabled) {
+            h = h * 31 + (bypass.has(p.getUniqueId()) || p.hasPermission(rules.bypass.permission) ? 1 : 2);
+        }
+        if (rules.permission.enabled) {
+            String node = rules.permission.perWorldNode ? rules.permission.customNode + "." + world : rules.permission.customNode;
+            h = h * 31 + (p.hasPermission(node) ? 1 : 2);
+        }
+        if (rules.items.enabled && !rules.items.consumeOnPass) h = h * 31 + InventoryMatcher.fingerprint(p, rules.items);
+        return h == NO_SIGNATURE ? h + 1 : h;
+    }
+
+    /** ENTRY is the real gate; PROBE and SWEEP skip cooldowns and economy and record nothing. */
+    private enum Mode { ENTRY, PROBE, SWEEP }
+
+    private Attempt evaluateNow(Player p, String targetWorld, boolean collectReasons, Mode mode) {
+        final boolean entry = mode == Mode.ENTRY;
+        final ConfigModel m = model;
+        final long version = m.version;
+        var eff = m.effective(targetWorld);
+        final boolean tr = trace.on(p.getUniqueId(), targetWorld);
+        if (tr) trace.log("[EVAL] player=" + p.getName() + " world=" + targetWorld + " restricted=" + eff.restricted()
                 + " logic=" + eff.ruleLogic()
                 + " cooldown=" + eff.denyCooldownSeconds());
         if (!eff.restricted())
-            return CompletableFuture.completedFuture(new Decision(true, List.of(), BigDecimal.ZERO, List.of()));
+            return Attempt.done(Decision.ALLOW);
 
         // cooldown?
-        if (cooldowns.isCooling(p.getUniqueId(), targetWorld, eff.denyCooldownSeconds())) {
-            dlog.accept("[EVAL] cooling → deny(cooldown)");
-            return CompletableFuture.completedFuture(Decision.deny("cooldown"));
+        if (entry && cooldowns.isCooling(p.getUniqueId(), targetWorld, eff.denyCooldownSeconds())) {
+            if (tr) trace.log("[EVAL] cooling → deny(cooldown)");
+            return Attempt.done(Decision.deny(Reason.COOLDOWN));
         }
 
         var rules = eff.rules();
-        List<String> reasons = new ArrayList<>();
-        boolean bypassOk = false, permOk = false, itemsOk = false, phOk = false;
+        int reasons = 0; // Reason bits
+        boolean any = eff.ruleLogic() == RuleLogic.ANY;
+        boolean anyEnabled = false;
+        Boolean outcome = null; // null until ANY/ALL is decided
+        int[] consumption = Decision.NO_PLAN;
 
-        // bypass
-        if (rules.bypass.enabled) {
-            boolean flag = bypass.has(p.getUniqueId());
-            boolean perm = p.hasPermission(rules.bypass.permission);
-            bypassOk = flag || perm;
-            dlog.accept("[RULE:bypass] flag=" + flag + " perm(" + rules.bypass.permission + ")=" + perm + " → " + bypassOk);
-            if (!bypassOk) reasons.add("bypass");
-        } else dlog.accept("[RULE:bypass] disabled");
-
-        // permission
-        if (rules.permission.enabled) {
-            String node = rules.permission.perWorldNode
-                    ? rules.permission.customNode + "." + targetWorld
-                    : rules.permission.customNode;
-            permOk = p.hasPermission(node);
-            dlog.accept("[RULE:perm] node=" + node + " has=" + permOk);
-            if (!permOk) reasons.add("permission");
-        } else dlog.accept("[RULE:perm] disabled");
-
-        // items (compute potential consumption plan)
-        List<Consume> consumption;
-        if (rules.items.enabled) {
-            var res = matchItemAnyOf(p, rules.items.anyOf);
-            itemsOk = res != null;
-            dlog.accept("[RULE:items] ok=" + itemsOk + " plan=" + (res == null ? "null" : res.toString()));
-            consumption = itemsOk ? res : List.of();
-            if (!itemsOk) reasons.add("items");
-        } else { dlog.accept("[RULE:items] disabled"); consumption = List.of(); }
-
-        // placeholder
-        if (rules.placeholder.enabled) {
-            if (!papiPresent) {
-                dlog.accept("[RULE:papi] PlaceholderAPI NOT present → fail");
-                phOk = false; reasons.add("placeholder");
-            } else {
-                boolean all = true;
-                for (var c : rules.placeholder.checks) {
-                    String raw = c.placeholder;
-                    String val = PlaceholderAPI.setPlaceholders(p, raw);
-                    boolean ok;
-                    try {
-                        ok = switch (c.type) {
-                            case EQUALS -> val.equals(c.value);
-                            case NOT_EQUALS -> !val.equals(c.value);
-                            case CONTAINS -> val.contains(c.value);
-                            case MATCHES_REGEX -> val.matches(c.value);
-                            case NUMBER_GTE -> new BigDecimal(val).compareTo(new BigDecimal(c.value)) >= 0;
-                            case NUMBER_LTE -> new BigDecimal(val).compareTo(new BigDecimal(c.value)) <= 0;
-                        };
-                    } catch (Exception ex) {
-                        ok = false;
+        // cheapest / most decisive first; stop as soon as the outcome is known. Items that are taken
+        // on pass pin the default order: under ANY, whether ITEMS runs (and consumes) must not
+        // depend on what earlier traffic taught the ordering.
+        final boolean pinned = rules.items.enabled && rules.items.consumeOnPass;
+        for (RuleKind kind : pinned ? RuleOrdering.DEFAULT : ordering.order(targetWorld, eff.ruleLogic())) {
+            if (!kind.enabledIn(rules)) { if (tr) trace.log("[RULE:" + kind.reasonKey + "] disabled"); continue; }
+            anyEnabled = true;
+            // ALL already failed: only keep going if the deny message lists every reason
+            if (outcome != null && !collectReasons) break;
+
+            long t0 = entry ? metrics.now() : 0L; // sweeps stay out of gate timings and ordering
+            boolean ok = switch (kind) {
+                case BYPASS -> checkBypass(p, rules.bypass, tr);
+                case PERMISSION -> checkPermission(p, rules.permission, targetWorld, tr);
+                case ITEMS -> {
+                    if (mode == Mode.SWEEP && rules.items.consumeOnPass) {
+                        if (tr) trace.log("[RULE:items] consumed on entry, not re-checked");
+                        yield true;
                     }
-                    dlog.accept("[RULE:papi] '" + raw + "' -> '" + val + "' " + c.type + " " + c.value + " = " + ok);
-                    if (!ok) all = false;
+                    var plan = InventoryMatcher.match(p, rules.items);
+                    if (tr) trace.log("[RULE:items] ok=" + (plan != null) + " plan=" + (plan == null ? "null" : Arrays.toString(plan)));
+                    if (plan != null) consumption = plan;
+                    yield plan != null;
                 }
-                phOk = rules.placeholder.checks.isEmpty() || all;
-                if (!phOk) reasons.add("placeholder");
-            }
-        } else dlog.accept("[RULE:papi] disabled");
-
-        final boolean passNonEconomy;
-        if (eff.ruleLogic() == RuleLogic.ALL) {
-            passNonEconomy = (!rules.bypass.enabled || bypassOk)
-                    && (!rules.permission.enabled || permOk)
-                    && (!rules.items.enabled || itemsOk)
-                    && (!rules.placeholder.enabled || phOk);
-        } else {
-            boolean anyEnabled = rules.bypass.enabled || rules.permission.enabled
-                    || rules.items.enabled || rules.placeholder.enabled;
-            passNonEconomy = !anyEnabled || bypassOk || permOk || itemsOk || phOk;
+                case PLACEHOLDER -> checkPlaceholders(p, rules.placeholder, tr);
+                case ECONOMY -> true; // never ordered here; handled below
+            };
+            metrics.time(stageOf(kind), t0);
+            if (entry && !pinned) ordering.record(targetWorld, kind, ok);
+            if (!ok) reasons |= reasonOf(kind).bit;
+
+            if (any && ok) { outcome = true; break; }
+            if (!any && !ok && outcome == null) outcome = false;
         }
-        dlog.accept("[EVAL] passNonEconomy=" + passNonEconomy + " reasons=" + reasons);
+
+        // ANY with nothing passing fails; ALL with nothing failing passes; no rules at all passes
+        final boolean passNonEconomy = outcome != null ? outcome : (!any || !anyEnabled);
+        final int failed = reasons;
+        // the plan only matters if the listener will take the items
+        final int[] plan = rules.items.consumeOnPass ? consumption : Decision.NO_PLAN;
+        if (tr) trace.log("[EVAL] passNonEconomy=" + passNonEconomy + " reasons=" + Reason.keys(failed));
+        if (!entry) return Attempt.done(passNonEconomy ? Decision.ALLOW : Decision.deny(failed));
 
         // Economy
         var eco = rules.economy;
-        dlog.accept("[RULE:eco] enabled=" + eco.enabled + " timing=" + eco.timing
+        if (tr) trace.log("[RULE:eco] enabled=" + eco.enabled + " timing=" + eco.timing
                 + " min=" + eco.minBalance + " cost=" + eco.cost);
 
         if (!eco.enabled || eco.timing.equalsIgnoreCase("none")) {
-            return finalizeDecision(passNonEconomy, reasons, p, targetWorld, rules, consumption, BigDecimal.ZERO);
+            return Attempt.done(finalizeDecision(passNonEconomy, failed, p, targetWorld, eff, version, plan, BigDecimal.ZERO, tr));
         }
 
         if (eco.timing.equalsIgnoreCase("on-attempt")) {
-            // Charge now
-            return economy.getBalanceBig(p).thenCompose(balance -> {
-                dlog.accept("[RULE:eco] balance=" + balance + " (min=" + eco.minBalance + ", cost=" + eco.cost + ")");
-                if (eco.minBalance.signum() > 0 && balance.compareTo(eco.minBalance) < 0) {
-                    reasons.add("economy");
+            // Hold the fee while the outcome settles: withdrawn once if it is kept, released
+            // locally (no deposit round trip) if the attempt is refunded
+            return Attempt.pending(() -> economy.reserve(p, eco.minBalance, eco.cost).thenCompose(hold -> {
+                if (tr) trace.log("[RULE:eco] reserve(min=" + eco.minBalance + ", cost=" + eco.cost + ") -> " + (hold != null));
+                if (hold == null) {
                     cooldowns.mark(p.getUniqueId(), targetWorld);
-                    return CompletableFuture.completedFuture(new Decision(false, reasons, BigDecimal.ZERO, List.of()));
+                    return CompletableFuture.completedFuture(Decision.deny(failed | Reason.ECONOMY.bit));
                 }
-                if (eco.cost.signum() > 0) {
-                    return economy.withdraw(p, eco.cost.doubleValue()).thenCompose(ok -> {
-                        dlog.accept("[RULE:eco] withdraw(" + eco.cost + ") -> " + ok);
-                        if (!ok) {
-                            reasons.add("economy");
-                            cooldowns.mark(p.getUniqueId(), targetWorld);
-                            return CompletableFuture.completedFuture(new Decision(false, reasons, BigDecimal.ZERO, List.of()));
-                        }
-                        if (!passNonEconomy) {
-                            if (eco.refundOnDeny) {
-                                return economy.deposit(p, eco.cost.doubleValue())
-                                        .thenApply(__ -> new Decision(false, reasons, BigDecimal.ZERO, List.of()));
-                            }
-                            return CompletableFuture.completedFuture(new Decision(false, reasons, eco.cost, List.of()));
-                        }
-                        return finalizeDecision(true, reasons, p, targetWorld, rules, consumption, eco.cost);
-                    });
+                if (!passNonEconomy && (eco.refundOnDeny || eco.cost.signum() == 0)) {
+                    economy.release(hold);
+                    if (eco.cost.signum() == 0) cooldowns.mark(p.getUniqueId(), targetWorld);
+                    return CompletableFuture.completedFuture(Decision.deny(failed));
                 }
-                // no cost; just proceed
-                if (!passNonEconomy) {
-                    cooldowns.mark(p.getUniqueId(), targetWorld);
-                    return CompletableFuture.completedFuture(new Decision(false, reasons, BigDecimal.ZERO, List.of()));
-                }
-                return finalizeDecision(true, reasons, p, targetWorld, rules, consumption, BigDecimal.ZERO);
-            });
+                return economy.commit(p, hold).thenApply(ok -> {
+                    if (tr) trace.log("[RULE:eco] commit(" + eco.cost + ") -> " + ok);
+                    if (!ok) {
+                        cooldowns.mark(p.getUniqueId(), targetWorld);
+                        return Decision.deny(failed | Reason.ECONOMY.bit);
+                    }
+                    if (!passNonEconomy) return Decision.deny(failed, eco.cost); // charged, no refund
+                    return finalizeDecision(true, failed, p, targetWorld, eff, version, plan, eco.cost, tr);
+                });
+            }));
         } else { // on-pass
             if (!passNonEconomy) {
                 cooldowns.mark(p.getUniqueId(), targetWorld);
-                return CompletableFuture.completedFuture(new Decision(false, reasons, BigDecimal.ZERO, List.of()));
+                return Attempt.done(Decision.deny(failed));
             }
-            return economy.getBalanceBig(p).thenCompose(balance -> {
-                dlog.accept("[RULE:eco] balance=" + balance + " (min=" + eco.minBalance + ", cost=" + eco.cost + ")");
-                if (eco.minBalance.signum() > 0 && balance.compareTo(eco.minBalance) < 0) {
-                    reasons.add("economy");
+            return Attempt.pending(() -> economy.withdrawIfAtLeast(p, eco.minBalance, eco.cost).thenApply(ok -> {
+                if (tr) trace.log("[RULE:eco] withdrawIfAtLeast(min=" + eco.minBalance + ", cost=" + eco.cost + ") -> " + ok);
+                if (!ok) {
                     cooldowns.mark(p.getUniqueId(), targetWorld);
-                    return CompletableFuture.completedFuture(new Decision(false, reasons, BigDecimal.ZERO, List.of()));
+                    return Decision.deny(failed | Reason.ECONOMY.bit);
                 }
-                if (eco.cost.signum() > 0) {
-                    return economy.withdraw(p, eco.cost.doubleValue()).thenCompose(ok -> {
-                        dlog.accept("[RULE:eco] withdraw(" + eco.cost + ") -> " + ok);
-                        if (!ok) {
-                            reasons.add("economy");
-                            cooldowns.mark(p.getUniqueId(), targetWorld);
-                            return CompletableFuture.completedFuture(new Decision(false, reasons, BigDecimal.ZERO, List.of()));
-                        }
-                        return finalizeDecision(true, reasons, p, targetWorld, rules, consumption, eco.cost);
-                    });
-                }
-                return finalizeDecision(true, reasons, p, targetWorld, rules, consumption, BigDecimal.ZERO);
-            });
+                return finalizeDecision(true, failed, p, targetWorld, eff, version, plan, eco.cost, tr);
+            }));
         }
     }
 
-    private CompletableFuture<Decision> finalizeDecision(boolean allow, List<String> reasons,
-                                                         Player p, String world,
-                                                         ConfigModel.Rules rules, List<Consume> toConsume,
-                                                         BigDecimal charged) {
-        dlog.accept("[FINAL] allow=" + allow + " world=" + world + " charged=" + charged
-                + " consumePlan=" + (toConsume == null ? 0 : toConsume.size()));
+    private static Reason reasonOf(RuleKind kind) {
+        return switch (kind) {
+            case BYPASS -> Reason.BYPASS;
+            case PERMISSION -> Reason.PERMISSION;
+            case ITEMS -> Reason.ITEMS;
+            case PLACEHOLDER -> Reason.PLACEHOLDER;
+            case ECONOMY -> Reason.ECONOMY;
+        };
+    }
+
+    private static GateMetrics.Stage stageOf(RuleKind kind) {
+        return switch (kind) {
+            case BYPASS -> GateMetrics.Stage.BYPASS;
+            case PERMISSION -> GateMetrics.Stage.PERMISSION;
+            case ITEMS -> GateMetrics.Stage.ITEMS;
+            case PLACEHOLDER -> GateMetrics.Stage.PLACEHOLDER;
+            case ECONOMY -> GateMetrics.Stage.ECONOMY;
+        };
+    }
+
+    private Decision finalizeDecision(boolean allow, int reasons,
+                                      Player p, String world,
+                                      ConfigModel.EffectiveRules eff, long version, int[] toConsume,
+                                      BigDecimal charged, boolean tr) {
+        if (tr) trace.log("[FINAL] allow=" + allow + " world=" + world + " charged=" + charged
+                + " consumePlan=" + (toConsume == null ? 0 : toConsume.length >> 1));
         if (!allow) {
             cooldowns.mark(p.getUniqueId(), world);
-            return CompletableFuture.completedFuture(new Decision(false, reasons, BigDecimal.ZERO, List.of()));
+            return Decision.deny(reasons);
         }
+        tickets.issue(p.getUniqueId(), world, version, eff.admissionTtlSeconds());
         // DO NOT mutate inventory here (engine may complete off-thread). Return the plan.
-        return CompletableFuture.completedFuture(new Decision(true, List.of(), charged, toConsume == null ? List.of() : toConsume));
+        return Decision.allow(charged, toConsume);
     }
 
-    @SuppressWarnings("unused")
-    private boolean evalCheck(Player p, ConfigModel.PlaceholderRule.Check c) {
-        String val = PlaceholderAPI.setPlaceholders(p, c.placeholder);
-        try {
-            return switch (c.type) {
-                case EQUALS -> val.equals(c.value);
-                case NOT_EQUALS -> !val.equals(c.value);
-                case CONTAINS -> val.contains(c.value);
-                case MATCHES_REGEX -> val.matches(c.value);
-                case NUMBER_GTE -> new BigDecimal(val).compareTo(new BigDecimal(c.value)) >= 0;
-                case NUMBER_LTE -> new BigDecimal(val).compareTo(new BigDecimal(c.value)) <= 0;
-            };
-        } catch (Exception e) {
-            return false;
-        }
+    private boolean checkBypass(Player p, ConfigModel.BypassRule rule, boolean tr) {
+        boolean flag = bypass.has(p.getUniqueId());
+        // flag first: staff toggles never reach the permission lookup
+        boolean ok = flag || p.hasPermission(rule.permission);
+        if (tr) trace.log("[RULE:bypass] flag=" + flag + " perm(" + rule.permission + ") → " + ok);
+        return ok;
     }
 
-    // Return a consumption plan if any set matches; else null
-    private List<Consume> matchItemAnyOf(Player p, List<ConfigModel.ItemSet> sets) {
-        if (sets == null || sets.isEmpty()) return List.of(); // treat as pass (no consumption)
-        for (var set : sets) {
-            var plan = new ArrayList<Consume>();
-            if (matchSet(p, set, plan)) return plan;
-        }
-        return null;
+    private boolean checkPermission(Player p, ConfigModel.PermissionRule rule, String world, boolean tr) {
+        String node = rule.perWorldNode ? rule.customNode + "." + world : rule.customNode;
+        boolean ok = p.hasPermission(node);
+        if (tr) trace.log("[RULE:perm] node=" + node + " has=" + ok);
+        return ok;
     }
 
-    private boolean matchSet(Player p, ConfigModel.ItemSet set, List<Consume> out) {
-        var inv = p.getInventory();
-        for (var req : set.match) {
-            int needed = req.amount;
-            // scan all slots to collect enough items
-            for (int slot = 0; slot < inv.getSize() && needed > 0; slot++) {
-                ItemStack it = inv.getItem(slot);
-                if (it == null || it.getType() != req.material) continue;
-                if (!pdcMatches(it, req.pdc)) continue;
-
-                int take = Math.min(needed, it.getAmount());
-                out.add(new Consume(slot, take));
-                needed -= take;
-            }
-            if (needed > 0) { out.clear(); return false; }
+    private boolean checkPlaceholders(Player p, ConfigModel.PlaceholderRule rule, boolean tr) {
+        if (!papiPresent) {
+            if (tr) trace.log("[RULE:papi] PlaceholderAPI NOT present → fail");
+            return false;
         }
-        return true;
-    }
-
-    private boolean pdcMatches(ItemStack item, List<ConfigModel.PdcCheck> checks) {
-        if (checks == null || checks.isEmpty()) return true;
-        ItemMeta meta = item.getItemMeta(); if (meta == null) return false;
-        PersistentDataContainer pdc = meta.getPersistentDataContainer();
-
-        for (var c : checks) {
-            NamespacedKey key = (c.key.contains(":"))
-                    ? new NamespacedKey(c.key.split(":", 2)[0], c.key.split(":", 2)[1])
-                    : new NamespacedKey(plugin, c.key);
-
-            switch (c.type) {
-                case STRING -> {
-                    String v = pdc.get(key, PersistentDataType.STRING);
-                    if (v == null || !v.equals(c.value)) return false;
-                }
-                case INT -> {
-                    Integer v = pdc.get(key, PersistentDataType.INTEGER);
-                    if (v == null || v != parseInt(c.value)) return false;
-                }
-                case LONG -> {
-                    Long v = pdc.get(key, PersistentDataType.LONG);
-                    if (v == null || v != parseLong(c.value)) return false;
-                }
-                case DOUBLE -> {
-                    Double v = pdc.get(key, PersistentDataType.DOUBLE);
-                    try {
-                        if (v == null || Math.abs(v - Double.parseDouble(c.value)) > 1e-9) return false;
-                    } catch (NumberFormatException e) { return false; }
-                }
-            }
+        // every distinct placeholder resolved once (cached per player); every check must pass
+        String[] vals = placeholders.resolveAll(p, rule.placeholders);
+        for (int i = 0; i < rule.checks.size(); i++) {
+            var c = rule.checks.get(i);
+            String val = vals[rule.valueIndex(i)];
+            boolean ok = c.test(val);
+            if (tr) trace.log("[RULE:papi] '" + c.placeholder + "' -> '" + val + "' " + c.type + " " + c.value + " = " + ok);
+            if (!ok) return false;
         }
         return true;
     }
-
-    private int parseInt(String s) { try { return Integer.parseInt(s); } catch (Exception e) { return 0; } }
-    private long parseLong(String s) { try { return Long.parseLong(s); } catch (Exception e) { return 0L; } }
 }
@@ -0,0 +1,33 @@
+package com.alphine.mysticWorlds.engine;
+
+import com.alphine.mysticWorlds.config.ConfigModel;
+
+/**
+ * The gate rules in default evaluation order (cheapest first).
+ * {@link #baseCost} is a relative weight used by {@link RuleOrdering}, not a measured time.
+ */
+public enum RuleKind {
+    BYPASS("bypass", 1),
+    PERMISSION("permission", 2),
+    ITEMS("items", 20),
+    PLACEHOLDER("placeholder", 40),
+    ECONOMY("economy", 100);
+
+    public final String reasonKey;
+    final int baseCost;
+
+    RuleKind(String reasonKey, int baseCost) {
+        this.reasonKey = reasonKey;
+        this.baseCost = baseCost;
+    }
+
+    public boolean enabledIn(ConfigModel.Rules r) {
+        return switch (this) {
+            case BYPASS -> r.bypass.enabled;
+            case PERMISSION -> r.permission.enabled;
+            case ITEMS -> r.items.enabled;
+            case PLACEHOLDER -> r.placeholder.enabled;
+            case ECONOMY -> r.economy.enabled;
+        };
+    }
+}
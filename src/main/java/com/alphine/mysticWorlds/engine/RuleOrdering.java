@@ -0,0 +1,76 @@
+package com.alphine.mysticWorlds.engine;
+
+import com.alphine.mysticWorlds.config.RuleLogic;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-world adaptive order for the synchronous rules (economy always runs last).
+ * <p>
+ * ANY stops at the first pass, so rules are ranked by cost / passRate.
+ * ALL stops at the first fail, so rules are ranked by cost / failRate.
+ * Rates are Laplace-smoothed, so an unseen world starts in plain cost order.
+ */
+final class RuleOrdering {
+    static final RuleKind[] DEFAULT = { RuleKind.BYPASS, RuleKind.PERMISSION, RuleKind.ITEMS, RuleKind.PLACEHOLDER };
+    private static final int REORDER_EVERY = 128;
+
+    private final Map<String, Stats> perWorld = new ConcurrentHashMap<>();
+
+    RuleKind[] order(String world, RuleLogic logic) {
+        Stats s = perWorld.get(world);
+        if (s == null) return DEFAULT;
+        return logic == RuleLogic.ALL ? s.allOrder : s.anyOrder;
+    }
+
+    void record(String world, RuleKind kind, boolean passed) {
+        perWorld.computeIfAbsent(world, k -> new Stats()).record(kind, passed);
+    }
+
+    /** Rules changed (reload): forget what we learned. */
+    void reset() { perWorld.clear(); }
+
+    /** World unloaded: dynamic worlds must not leave their stats behind. */
+    void forget(String world) { perWorld.remove(world); }
+
+    private static final class Stats {
+        final LongAdder[] attempts = adders();
+        final LongAdder[] passes = adders();
+        final AtomicInteger sinceReorder = new AtomicInteger();
+        volatile RuleKind[] anyOrder = DEFAULT;
+        volatile RuleKind[] allOrder = DEFAULT;
+
+        void record(RuleKind kind, boolean passed) {
+            attempts[kind.ordinal()].increment();
+            if (passed) passes[kind.ordinal()].increment();
+            if (sinceReorder.incrementAndGet() >= REORDER_EVERY) {
+                sinceReorder.set(0);
+                reorder();
+            }
+        }
+
+        private void reorder() {
+            double[] passRate = new double[RuleKind.values().length];
+            for (RuleKind k : DEFAULT) {
+                passRate[k.ordinal()] = (passes[k.ordinal()].sum() + 1.0) / (attempts[k.ordinal()].sum() + 2.0);
+            }
+            RuleKind[] any = DEFAULT.clone();
+            RuleKind[] all = DEFAULT.clone();
+            Arrays.sort(any, Comparator.comparingDouble(k -> k.baseCost / passRate[k.ordinal()]));
+            Arrays.sort(all, Comparator.comparingDouble(k -> k.baseCost / (1.0 - passRate[k.ordinal()])));
+            anyOrder = any;
+            allOrder = all;
+        }
+
+        private static LongAdder[] adders() {
+            LongAdder[] a = new LongAdder[RuleKind.values().length];
+            for (int i = 0; i < a.length; i++) a[i] = new LongAdder();
+            return a;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.alphine.mysticWorlds.engine;
+
+/**
+ * Packs "where an item lives" into the int used by {@link RuleEngine.Decision#consumeSlot(int)}.
+ * <pre>
+ *   bits  0..11  slot in the source inventory
+ *   bits 12..23  index inside a shulker/bundle + 1 (0 = the slot itself)
+ *   bits 24..31  source inventory
+ * </pre>
+ * A plain main-inventory slot encodes to itself.
+ */
+public final class SlotRef {
+    public static final int INVENTORY = 0;
+    public static final int ENDER_CHEST = 1;
+
+    private SlotRef() {}
+
+    public static int of(int source, int slot, int inner) {
+        return (source << 24) | ((inner + 1) << 12) | slot;
+    }
+    public static int source(int ref) { return ref >>> 24; }
+    public static int slot(int ref) { return ref & 0xFFF; }
+    public static int inner(int ref) { return ((ref >>> 12) & 0xFFF) - 1; }
+    public static boolean isNested(int ref) { return ((ref >>> 12) & 0xFFF) != 0; }
+    /** Same container slot, ignoring the inner index. */
+    public static int container(int ref) { return ref & 0xFF000FFF; }
+
+    public static String describe(int ref) {
+        String src = source(ref) == ENDER_CHEST ? "ender" : "inv";
+        return src + ":" + slot(ref) + (isNested(ref) ? "/" + inner(ref) : "");
+    }
+}
@@ -0,0 +1,64 @@
+package com.alphine.mysticWorlds.listener;
+
+import org.bukkit.World;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable world → gate summary index. Loaded worlds are keyed by UID; configured worlds
+ * that are not loaded are known by name only. Updates return a new index, which the owner
+ * publishes with one volatile write, so readers never see a half-built view.
+ */
+final class GateIndex {
+    record Gate(String world, boolean restricted, boolean itemsConsumeOnPass) {}
+
+    static final GateIndex EMPTY = new GateIndex(Map.of(), Map.of());
+
+    private final Map<UUID, Gate> byUid;
+    private final Map<String, Gate> byName;
+
+    private GateIndex(Map<UUID, Gate> byUid, Map<String, Gate> byName) {
+        this.byUid = byUid;
+        this.byName = byName;
+    }
+
+    Gate get(World w) {
+        Gate g = byUid.get(w.getUID());
+        return g != null ? g : byName.get(w.getName());
+    }
+
+    Gate get(String worldName) { return byName.get(worldName); }
+
+    int size() { return byName.size(); }
+
+    Set<String> names() { return byName.keySet(); }
+
+    /**
+     * Batch update in one copy: drops the UIDs of unloaded worlds, adds loaded worlds by UID and
+     * name and configured ones by name, then drops names.
+     */
+    GateIndex patch(Map<World, Gate> loaded, Map<String, Gate> configured, Collection<String> dropped,
+                    Collection<UUID> unloaded) {
+        Map<UUID, Gate> uids = new HashMap<>(byUid);
+        Map<String, Gate> names = new HashMap<>(byName);
+        for (UUID id : unloaded) uids.remove(id);
+        loaded.forEach((w, g) -> { uids.put(w.getUID(), g); names.put(w.getName(), g); });
+        names.putAll(configured);
+        for (String n : dropped) names.remove(n);
+        return new GateIndex(Map.copyOf(uids), Map.copyOf(names));
+    }
+
+    /** Collects entries for a full rebuild. */
+    static final class Builder {
+        private final Map<UUID, Gate> uids = new HashMap<>();
+        private final Map<String, Gate> names = new HashMap<>();
+
+        Builder loaded(World w, Gate g) { uids.put(w.getUID(), g); names.put(w.getName(), g); return this; }
+        Builder configured(String name, Gate g) { names.putIfAbsent(name, g); return this; }
+        GateIndex build() { return new GateIndex(Map.copyOf(uids), Map.copyOf(names)); }
+    }
+}
@@ -0,0 +1,102 @@
+package com.alphine.mysticWorlds.listener;
+
+import com.alphine.mysticWorlds.util.Msg;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import net.kyori.adventure.title.Title;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Per-player outbound messages: every line produced for one decision is joined into one
+ * composite and delivered with a single hop onto the player's thread.
+ * <p>
+ * A composite identical to the player's previous one within the cooldown is not re-sent
+ * on its channel; it can instead go to a cheaper repeat channel (action bar / title).
+ * Dedupe state is one small entry per online player, removed on quit.
+ */
+final class MessageOutbox {
+    enum Channel {
+        NONE, CHAT, ACTION_BAR, TITLE;
+
+        static Channel from(String s, Channel def) {
+            if (s == null) return def;
+            return switch (s.trim().toLowerCase(Locale.ROOT).replace("-", "").replace("_", "")) {
+                case "chat" -> CHAT;
+                case "actionbar" -> ACTION_BAR;
+                case "title" -> TITLE;
+                case "none", "off" -> NONE;
+                default -> def;
+            };
+        }
+    }
+
+    private static final long REPEAT_WINDOW_MS = 10_000L;
+
+    private record Last(long key, long at) {}
+
+    private final Map<UUID, Last> last = new ConcurrentHashMap<>();
+    private final BiConsumer<Player, Runnable> onPlayerThread;
+
+    MessageOutbox(BiConsumer<Player, Runnable> onPlayerThread) {
+        this.onPlayerThread = onPlayerThread;
+    }
+
+    /** Lines for one decision; keyed by template ids + args so dedupe never renders. */
+    static final class Batch {
+        private final List<Msg.Template> templates = new ArrayList<>(4);
+        private final List<String> args = new ArrayList<>(4);
+        private long key = 17;
+
+        Batch add(Msg.Template t, String arg) {
+            if (t == null || t.isEmpty()) return this;
+            templates.add(t);
+            args.add(arg);
+            key = key * 31 + t.dedupeKey(arg);
+            return this;
+        }
+
+        boolean isEmpty() { return templates.isEmpty(); }
+
+        private List<Component> render() {
+            List<Component> out = new ArrayList<>(templates.size());
+            for (int i = 0; i < templates.size(); i++) out.add(templates.get(i).render(args.get(i)));
+            return out;
+        }
+    }
+
+    void send(Player p, Batch b, Channel channel, Channel repeatChannel) {
+        if (p == null || b.isEmpty()) return;
+        long now = System.currentTimeMillis();
+        UUID id = p.getUniqueId();
+        Last prev = last.get(id);
+        boolean repeat = prev != null && prev.key() == b.key && now - prev.at() <= REPEAT_WINDOW_MS;
+        Channel ch = repeat ? repeatChannel : channel;
+        if (!repeat) last.put(id, new Last(b.key, now));
+        if (ch == Channel.NONE) return;
+
+        List<Component> lines = b.render();
+        onPlayerThread.accept(p, () -> {
+            if (!p.isOnline()) return;
+            switch (ch) {
+                case CHAT -> p.sendMessage(Component.join(JoinConfiguration.newlines(), lines));
+                case ACTION_BAR -> p.sendActionBar(Component.join(JoinConfiguration.separator(Component.space()), lines));
+                case TITLE -> p.showTitle(Title.title(lines.get(0), lines.size() > 1
+                        ? Component.join(JoinConfiguration.separator(Component.space()), lines.subList(1, lines.size()))
+                        : Component.empty()));
+                case NONE -> { }
+            }
+        });
+    }
+
+    void forget(UUID id) { last.remove(id); }
+
+    int size() { return last.size(); }
+}
@@ -0,0 +1,41 @@
+package com.alphine.mysticWorlds.listener;
+
+import com.alphine.mysticWorlds.economy.EconomyBridge;
+import com.alphine.mysticWorlds.service.PlaceholderCacheService;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/** Warms per-player caches at login and join and drops them when a player leaves. */
+public final class PlayerSessionListener implements Listener {
+    private final PlaceholderCacheService placeholders;
+    private final EconomyBridge economy;
+
+    public PlayerSessionListener(PlaceholderCacheService placeholders, EconomyBridge economy) {
+        this.placeholders = placeholders;
+        this.economy = economy;
+    }
+
+    /** Off the main thread: ready the economy account before the spawn-time gate check. */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent e) {
+        if (e.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+        placeholders.evict(e.getUniqueId()); // nothing from a previous session survives into this one
+        economy.warm(e.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent e) {
+        economy.warm(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        var uuid = e.getPlayer().getUniqueId();
+        placeholders.evict(uuid);
+        economy.evict(uuid);
+    }
+}
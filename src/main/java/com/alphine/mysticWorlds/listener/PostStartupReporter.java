@@ -35,8 +35,8 @@ public final class PostStartupReporter implements Listener {
                 + " | MC " + Bukkit.getMinecraftVersion());
         log.info("PlaceholderAPI: " +
                 (Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI") ? "present" : "absent"));
-        log.info("Config: restricted-mode=" + plugin.getConfig().getString("general.restricted-mode")
-                + " | global-logic=" + plugin.getConfig().getString("general.rule-logic"));
+        log.info("Config: restricted-mode=" + plugin.liveConfig().getString("general.restricted-mode")
+                + " | global-logic=" + plugin.liveConfig().getString("general.rule-logic"));
         for (World w : plugin.getServer().getWorlds()) {
             var eff = engine.model().effective(w.getName());
             log.info("[READY] world=" + w.getName() + " env=" + w.getEnvironment()
@@ -0,0 +1,127 @@
+package com.alphine.mysticWorlds.listener;
+
+import com.alphine.mysticWorlds.engine.RuleEngine;
+import com.alphine.mysticWorlds.service.GateMetrics;
+import com.alphine.mysticWorlds.service.TraceService;
+import com.tcoded.folialib.FoliaLib;
+import com.tcoded.folialib.wrapper.task.WrappedTask;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Re-checks players already inside restricted worlds (revoked permission, dropped key item,
+ * tightened rules), a few per tick.
+ * <p>
+ * A global-region timer walks the online players round-robin, at most {@code perTick} per
+ * tick for the whole server, not per region: Folia exposes no stable region identity to key a
+ * budget on. Each check runs on the player's own thread (inline on Paper, on the owning region
+ * on Folia), so no region ever gets more than {@code perTick} checks in a tick. Players holding a live
+ * admission ticket, or whose {@link RuleEngine#signature} hasn't changed since their last
+ * passing check, are skipped.
+ */
+final class RevalidationSweeper {
+    private final FoliaLib folia;
+    private final RuleEngine engine;
+    private final TraceService trace;
+    private final GateMetrics metrics;
+    private final Predicate<World> restricted;
+    private final BiConsumer<Player, String> evict;
+
+    private final Map<UUID, Long> passed = new ConcurrentHashMap<>(); // signature of the last passing check
+
+    // global region only
+    private UUID[] ring = new UUID[0];
+    private int cursor;
+    private WrappedTask task;
+    private volatile int perTick;
+
+    RevalidationSweeper(FoliaLib folia, RuleEngine engine, TraceService trace, GateMetrics metrics,
+                        Predicate<World> restricted, BiConsumer<Player, String> evict) {
+        this.folia = folia;
+        this.engine = engine;
+        this.trace = trace;
+        this.metrics = metrics;
+        this.restricted = restricted;
+        this.evict = evict;
+        metrics.gauge("sweep_signatures", "Players with a remembered sweep signature.", () -> passed.size());
+    }
+
+    /** Starts, retunes or stops the sweep. Call on the global region. */
+    synchronized void configure(boolean enabled, int playersPerTick) {
+        perTick = Math.max(1, playersPerTick);
+        if (enabled && task == null) {
+            task = folia.getImpl().runTimer(this::tick, 20L, 1L);
+        } else if (!enabled && task != null) {
+            task.cancel();
+            task = null;
+            passed.clear();
+        }
+    }
+
+    synchronized void stop() { configure(false, perTick); }
+
+    void forget(UUID id) { passed.remove(id); }
+
+    private void tick() {
+        for (int n = perTick; n > 0; n--) {
+            if (cursor >= ring.length && !refill()) return;
+            UUID id = ring[cursor++];
+            Player p = Bukkit.getPlayer(id);
+            if (p == null) { passed.remove(id); continue; }
+            if (folia.isFolia()) folia.getImpl().runAtEntity(p, t -> check(p));
+            else check(p);
+        }
+    }
+
+    /** Next lap over whoever is online now; false if nobody is. */
+    private boolean refill() {
+        var online = Bukkit.getOnlinePlayers();
+        if (online.isEmpty()) return false;
+        UUID[] next = new UUID[online.size()];
+        int i = 0;
+        for (Player p : online) {
+            if (i == next.length) break;
+            next[i++] = p.getUniqueId();
+        }
+        ring = i == next.length ? next : Arrays.copyOf(next, i);
+        cursor = 0;
+        return ring.length > 0;
+    }
+
+    /** On the player's thread. */
+    private void check(Player p) {
+        if (!p.isOnline()) return;
+        final UUID id = p.getUniqueId();
+        final World world = p.getWorld();
+        if (!restricted.test(world)) { passed.remove(id); return; }
+        final String w = world.getName();
+        // just admitted: the ticket vouches for this entry until it expires
+        if (engine.holdsTicket(p, w)) return;
+
+        final long t0 = metrics.now();
+        long sig = engine.signature(p, w);
+        Long last = passed.get(id);
+        if (sig != RuleEngine.NO_SIGNATURE && last != null && last == sig) {
+            metrics.time(GateMetrics.Stage.SWEEP, t0);
+            return;
+        }
+        boolean ok = engine.stillAdmitted(p, w);
+        metrics.time(GateMetrics.Stage.SWEEP, t0);
+        if (trace.on(id, w)) trace.log("[SWEEP] " + p.getName() + " in " + w + " admitted=" + ok
+                + (sig == RuleEngine.NO_SIGNATURE ? " (placeholders: always re-checked)" : ""));
+        if (ok) {
+            if (sig != RuleEngine.NO_SIGNATURE) passed.put(id, sig);
+            return;
+        }
+        passed.remove(id);
+        evict.accept(p, w);
+    }
+}
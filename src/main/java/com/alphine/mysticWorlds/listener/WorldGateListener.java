@@ -1,12 +1,14 @@
 package com.alphine.mysticWorlds.listener;
 
+import com.alphine.mysticWorlds.MysticWorlds;
 import com.alphine.mysticWorlds.config.ConfigModel;
+import com.alphine.mysticWorlds.engine.InventoryMatcher;
 import com.alphine.mysticWorlds.engine.RuleEngine;
+import com.alphine.mysticWorlds.service.GateMetrics;
+import com.alphine.mysticWorlds.service.TraceService;
 import com.alphine.mysticWorlds.util.Msg;
 import com.tcoded.folialib.FoliaLib;
 // import io.papermc.lib.PaperLib; // no longer used on Folia path
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -16,49 +18,60 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.util.Vector;
+import org.spigotmc.event.player.PlayerSpawnLocationEvent;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Consumer;
 
 public final class WorldGateListener implements Listener {
 
-    private final JavaPlugin plugin;
+    private final MysticWorlds plugin;
     private final RuleEngine engine;
-    private final Consumer<String> dlog;
+    private final TraceService trace;
+    private final GateMetrics metrics;
     private final FoliaLib folia;
     private final boolean IS_FOLIA;
+    private final RevalidationSweeper sweeper;
 
     /* ===== snapshot of messages/aliases/etc (Folia-safe reads) ===== */
     private volatile MessagesSnapshot messages = MessagesSnapshot.empty();
 
+    /** Message templates compiled once per reload; prefix is folded into each template. */
     private static final class MessagesSnapshot {
-        final String prefix, denied, charged, targetAllowedYouNot, netherHint, forcedOut, fallbackWorld;
+        final Msg.Template denied, charged, targetAllowedYouNot, netherHint, forcedOut;
+        final String fallbackWorld;
         final boolean showDenyReasons;
+        final MessageOutbox.Channel channel, repeatChannel;
         final Map<String,String> aliases;
-        final Map<String,String> reasonLines;
+        final Msg.Template[] reasonLines; // by RuleEngine.Reason ordinal; null = no line
 
         private MessagesSnapshot(String prefix, String denied, String charged, String targetAllowedYouNot,
                                  String netherHint, String forcedOut, boolean showDenyReasons,
-                                 String fallbackWorld, Map<String,String> aliases, Map<String,String> reasonLines) {
-            this.prefix = prefix;
-            this.denied = denied;
-            this.charged = charged;
-            this.targetAllowedYouNot = targetAllowedYouNot;
-            this.netherHint = netherHint;
-            this.forcedOut = forcedOut;
+                                 String fallbackWorld, Map<String,String> aliases, Map<String,String> reasonLines,
+                                 MessageOutbox.Channel channel, MessageOutbox.Channel repeatChannel) {
+            this.denied = Msg.Template.compile(prefix + denied, "world");
+            this.charged = Msg.Template.compile(prefix + charged, "amount");
+            this.targetAllowedYouNot = Msg.Template.compile(prefix + targetAllowedYouNot, "target");
+            this.netherHint = netherHint.isEmpty() ? null : Msg.Template.compile(prefix + netherHint);
+            this.forcedOut = Msg.Template.compile(prefix + forcedOut);
             this.showDenyReasons = showDenyReasons;
             this.fallbackWorld = fallbackWorld;
             this.aliases = aliases;
-            this.reasonLines = reasonLines;
+            this.channel = channel;
+            this.repeatChannel = repeatChannel;
+            this.reasonLines = new Msg.Template[RuleEngine.Reason.count()];
+            for (int i = 0; i < this.reasonLines.length; i++) {
+                String v = reasonLines.get(RuleEngine.Reason.byOrdinal(i).key);
+                if (v != null) this.reasonLines[i] = Msg.Template.compile(prefix + v);
+            }
         }
 
-        static MessagesSnapshot build(JavaPlugin plugin, ConfigModel model) {
-            var cfg = plugin.getConfig();
+        static MessagesSnapshot build(MysticWorlds plugin, ConfigModel model) {
+            var cfg = plugin.liveConfig();
             String prefix = cfg.getString("messages.prefix", "");
             String denied = cfg.getString("messages.denied",
                     "<red>You are not allowed to enter <white>{world}</white>.</red>");
@@ -83,12 +96,14 @@ public final class WorldGateListener implements Listener {
 
             boolean showDenyReasons = (model != null && model.general != null) ? model.general.showDenyReasons : true;
             String fallbackWorld = cfg.getString("general.fallback-world", "world");
+            var channel = MessageOutbox.Channel.from(cfg.getString("messages.channel"), MessageOutbox.Channel.CHAT);
+            var repeatChannel = MessageOutbox.Channel.from(cfg.getString("messages.repeat-channel"), MessageOutbox.Channel.NONE);
 
             return new MessagesSnapshot(
                     prefix, denied, charged, targetAllowedYouNot, netherHint, forcedOut,
                     showDenyReasons, fallbackWorld,
                     Collections.unmodifiableMap(aliases),
-                    Collections.unmodifiableMap(reasons)
+                    reasons, channel, repeatChannel
             );
         }
 
@@ -98,52 +113,148 @@ public final class WorldGateListener implements Listener {
                     "<yellow>Entry fee: <white>{amount}</white>.</yellow>",
                     "<red>{target} can be there, but you do not meet the requirements.</red>",
                     "", "<yellow>You were moved to a safe area.</yellow>",
-                    true, "world", Map.of(), Map.of()
+                    true, "world", Map.of(), Map.of(),
+                    MessageOutbox.Channel.CHAT, MessageOutbox.Channel.NONE
             );
         }
 
         String aliasFor(String world) { return aliases.getOrDefault(world, world); }
-        String reasonLine(String key) { return reasonLines.get(key); }
+        Msg.Template reasonLine(RuleEngine.Reason reason) { return reasonLines[reason.ordinal()]; }
     }
 
-    public WorldGateListener(JavaPlugin plugin, RuleEngine engine, Consumer<String> dlog) {
+    public WorldGateListener(MysticWorlds plugin, RuleEngine engine, TraceService trace, GateMetrics metrics) {
         this.plugin = plugin;
         this.engine = engine;
-        this.dlog = dlog;
+        this.trace = trace;
+        this.metrics = metrics;
+        metrics.gauge("pass_tokens", "Pending re-teleport pass tokens.", () -> allowNextTeleport.size());
+        metrics.gauge("message_state", "Players with message dedupe state.", () -> outbox.size());
+        metrics.gauge("spawn_resolutions", "Spawn-time decisions awaiting join.", () -> resolvedAtSpawn.size());
+        metrics.gauge("gate_index_worlds", "Worlds in the gate index.", () -> gates.size());
         this.folia = new FoliaLib(plugin);
         this.IS_FOLIA = folia.isFolia();
+        this.sweeper = new RevalidationSweeper(folia, engine, trace, metrics,
+                w -> gate(w).restricted(), (p, w) -> forceToFallback(p, w, "sweep"));
         plugin.getLogger().info("[MysticWorlds] Runtime: " + (IS_FOLIA ? "Folia" : "Paper/Purpur/Spigot"));
     }
 
+    /** Runs on the global region (startup and reload apply). */
     public void reloadFromConfig(ConfigModel model) {
         this.messages = MessagesSnapshot.build(plugin, model);
+        refreshFallbackSpawn();
+        var cfg = plugin.liveConfig();
+        sweeper.configure(cfg.getBoolean("general.sweep.enabled", false), cfg.getInt("general.sweep.players-per-tick", 4));
+    }
+
+    /** Must run on the global region; spawn reads elsewhere trip Folia's region checks. */
+    private void refreshFallbackSpawn() {
+        World w = Bukkit.getWorld(messages.fallbackWorld);
+        fallbackSpawn = w == null ? null : w.getSpawnLocation();
     }
 
     /* ===== gate index ===== */
-    private static final class GateSummary {
-        final boolean restricted;
-        final boolean itemsConsumeOnPass;
-        GateSummary(boolean restricted, boolean itemsConsumeOnPass) {
-            this.restricted = restricted;
-            this.itemsConsumeOnPass = itemsConsumeOnPass;
+    private volatile GateIndex gates = GateIndex.EMPTY;
+    private final Object gateWrite = new Object(); // serialises rebuild vs load/unload
+
+    /** Full rebuild (startup, reload): built aside, published in one swap. */
+    public void refreshIndex() {
+        var b = new GateIndex.Builder();
+        for (World w : Bukkit.getWorlds()) b.loaded(w, summarize(w.getName()));
+        for (String name : engine.model().worlds.keySet()) b.configured(name, summarize(name));
+        synchronized (gateWrite) {
+            gates = b.build();
         }
     }
-    private final Map<String, GateSummary> gateIndex = new ConcurrentHashMap<>();
 
-    public void refreshIndex() {
-        gateIndex.clear();
-        Set<String> worlds = new HashSet<>();
-        Bukkit.getWorlds().forEach(w -> worlds.add(w.getName()));
-        var worldsSec = plugin.getConfig().getConfigurationSection("worlds");
-        if (worldsSec != null) worlds.addAll(worldsSec.getKeys(false));
-
-        for (String w : worlds) {
-            var eff = engine.model().effective(w);
-            var itemsConsume = eff.rules().items.consumeOnPass;
-            gateIndex.put(w, new GateSummary(eff.restricted(), itemsConsume));
-            dlog.accept("[INDEX] " + w + " restricted=" + eff.restricted()
-                    + " items.consumeOnPass=" + itemsConsume);
+    /** Names the index currently knows (loaded and configured worlds). */
+    public Set<String> indexedWorlds() { return gates.names(); }
+
+    /** Reload with a diff: re-summarise only {@code worlds}, published in one swap. */
+    public void reindex(Collection<String> worlds) {
+        if (worlds.isEmpty()) return;
+        var model = engine.model();
+        Map<World, GateIndex.Gate> loaded = new HashMap<>();
+        Map<String, GateIndex.Gate> configured = new HashMap<>();
+        List<String> dropped = new ArrayList<>();
+        for (String name : worlds) {
+            World w = Bukkit.getWorld(name);
+            if (w != null) loaded.put(w, summarize(name));
+            else if (model.worlds.containsKey(name)) configured.put(name, summarize(name));
+            else dropped.add(name);
+        }
+        synchronized (gateWrite) {
+            gates = gates.patch(loaded, configured, dropped, List.of());
+        }
+    }
+
+    /** World loads/unloads not yet in the index, in event order; guarded by gateWrite. */
+    private record WorldChange(World world, boolean loaded) {}
+    private List<WorldChange> pendingWorlds = new ArrayList<>();
+
+    /** One world came up: queue its entry. Until the flush, {@link #gate} summarises it live. */
+    public void onWorldLoaded(World w) {
+        queue(new WorldChange(w, true));
+        if (w.getName().equals(messages.fallbackWorld)) runGlobal(this::refreshFallbackSpawn);
+    }
+
+    /** One world went away: queue dropping its UID entry (and its name unless config still lists it). */
+    public void onWorldUnloaded(World w) {
+        engine.model().forget(w.getName());
+        engine.forget(w.getName());
+        queue(new WorldChange(w, false));
+    }
+
+    private void queue(WorldChange c) {
+        boolean first;
+        synchronized (gateWrite) {
+            first = pendingWorlds.isEmpty();
+            pendingWorlds.add(c);
         }
+        if (first) runGlobal(this::flushWorldChanges);
+    }
+
+    /** Next tick: a burst of loads/unloads (island or arena worlds) costs one index copy, not one each. */
+    private void flushWorldChanges() {
+        List<WorldChange> changes;
+        synchronized (gateWrite) {
+            changes = pendingWorlds;
+            pendingWorlds = new ArrayList<>();
+        }
+        if (changes.isEmpty()) return;
+        var model = engine.model();
+        Map<World, GateIndex.Gate> loaded = new HashMap<>();
+        Set<UUID> unloaded = new HashSet<>();
+        Set<String> dropped = new HashSet<>();
+        for (WorldChange c : changes) { // later events win
+            World w = c.world();
+            String name = w.getName();
+            if (c.loaded()) {
+                loaded.put(w, summarize(name));
+                unloaded.remove(w.getUID());
+                dropped.remove(name);
+            } else {
+                loaded.remove(w);
+                unloaded.add(w.getUID());
+                if (!model.worlds.containsKey(name)) dropped.add(name);
+            }
+        }
+        synchronized (gateWrite) {
+            gates = gates.patch(loaded, Map.of(), dropped, unloaded);
+        }
+    }
+
+    private GateIndex.Gate summarize(String w) {
+        var eff = engine.model().effective(w);
+        var itemsConsume = eff.rules().items.consumeOnPass;
+        if (trace.on(w)) trace.log("[INDEX] " + w + " restricted=" + eff.restricted()
+                + " items.consumeOnPass=" + itemsConsume);
+        return new GateIndex.Gate(w, eff.restricted(), itemsConsume);
+    }
+
+    /** Never null: a world the index hasn't seen yet is summarised from the live model. */
+    private GateIndex.Gate gate(World w) {
+        var g = gates.get(w);
+        return g != null ? g : summarize(w.getName());
     }
 
     private static final class Pass {
@@ -155,9 +266,16 @@ public final class WorldGateListener implements Listener {
     }
     private final Map<UUID, Pass> allowNextTeleport = new ConcurrentHashMap<>();
 
-    private static final long MESSAGE_COOLDOWN_MS = 10_000L;
-    private static final class LastMsg { final String msg; final long at; LastMsg(String m,long a){msg=m;at=a;} }
-    private final Map<UUID, LastMsg> lastMsgs = new ConcurrentHashMap<>();
+    /** Items owed for an admitted teleport, taken by {@link #onToSettled} only if nothing cancelled it. */
+    private record Owed(Pass at, RuleEngine.Decision plan) {}
+    private final Map<UUID, Owed> owedItems = new ConcurrentHashMap<>();
+
+    /** Spawn-time decision for a joining player, picked up by {@link #onJoin}. */
+    private record Resolved(String world, CompletableFuture<RuleEngine.Decision> decision, boolean relocated) {}
+    private final Map<UUID, Resolved> resolvedAtSpawn = new ConcurrentHashMap<>();
+    private volatile Location fallbackSpawn; // cached on the global region
+
+    private final MessageOutbox outbox = new MessageOutbox(this::runOnPlayerThread);
 
     /* ===================== SCHEDULING HELPERS ===================== */
 
@@ -186,8 +304,12 @@ public final class WorldGateListener implements Listener {
      * - Paper: just call teleportAsync on the main thread
      * - Folia: schedule on the DESTINATION region, then call teleportAsync there
      */
-    private void safeTeleport(Player p, Location to) {
+    private void safeTeleport(Player p, Location to) { safeTeleport(p, to, 0L); }
+
+    /** @param gateStart {@link GateMetrics#now()} at the event; non-zero times the teleport and total stages */
+    private void safeTeleport(Player p, Location to, long gateStart) {
         if (p == null || to == null || to.getWorld() == null) return;
+        final long t0 = gateStart == 0L ? 0L : metrics.now();
 
         if (IS_FOLIA) {
             final World w = to.getWorld();
@@ -198,27 +320,29 @@ public final class WorldGateListener implements Listener {
             // happen in the region that owns them, so no assertion trips.
             Bukkit.getRegionScheduler().execute(plugin, w, cx, cz, () -> {
                 // From here it’s safe to ask the player to move there.
-                p.teleportAsync(to);
+                timed(p.teleportAsync(to), t0, gateStart);
             });
         } else {
             // Paper: main thread is fine
-            Bukkit.getScheduler().runTask(plugin, () -> p.teleportAsync(to));
+            Bukkit.getScheduler().runTask(plugin, () -> timed(p.teleportAsync(to), t0, gateStart));
         }
     }
 
-    private void safeVelocity(Player p, Vector v) {
-        runOnPlayerThread(p, () -> p.setVelocity(v));
+    private void timed(CompletableFuture<Boolean> teleport, long t0, long gateStart) {
+        if (t0 == 0L) return;
+        teleport.thenRun(() -> {
+            metrics.time(GateMetrics.Stage.TELEPORT, t0);
+            metrics.time(GateMetrics.Stage.TOTAL, gateStart);
+        });
     }
 
-    private void safeSendMessage(UUID uuid, Component mm) {
-        Player p = Bukkit.getPlayer(uuid);
-        if (p == null) return;
-        runOnPlayerThread(p, () -> p.sendMessage(mm));
+    private void safeVelocity(Player p, Vector v) {
+        runOnPlayerThread(p, () -> p.setVelocity(v));
     }
 
     /* ===================== SINGLE TELEPORT HANDLER ===================== */
 
-    @EventHandler(ignoreCancelled = false, priority = EventPriority.HIGHEST)
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
     public void onTo(PlayerTeleportEvent e) {
         // Only gate cross-world moves
         var to = e.getTo(); if (to == null) return;
@@ -236,80 +360,126 @@ public final class WorldGateListener implements Listener {
         Pass pass = allowNextTeleport.get(player.getUniqueId());
         if (pass != null && pass.matches(worldName, tx, ty, tz)) {
             allowNextTeleport.remove(player.getUniqueId());
-            dlog.accept("[TP] pass-through (ours) -> " + worldName);
+            if (trace.on(player.getUniqueId(), worldName)) trace.log("[TP] pass-through (ours) -> " + worldName);
             return;
         }
 
-        GateSummary gs = gateIndex.get(worldName);
-        if (gs == null || !gs.restricted) {
-            dlog.accept("[TP] unrestricted cross-world -> allow");
+        final long t0 = metrics.now();
+        metrics.attempt(worldName);
+        var gs = gate(target);
+        metrics.time(GateMetrics.Stage.INDEX, t0);
+        if (!gs.restricted()) {
+            if (trace.on(player.getUniqueId(), worldName)) trace.log("[TP] unrestricted cross-world -> allow");
             return; // let it happen
         }
 
-        // Gate it: cancel & handle
-        e.setCancelled(true);
         final var cause = e.getCause();
         final var fromLoc = from.clone();
 
-        runGlobal(() -> {
-            dlog.accept("[GLOBAL] cross-world attempt -> " + worldName + " cause=" + cause);
-            runOnPlayerThread(player, () ->
-                    engine.evaluate(player, worldName).thenAccept(decision ->
-                            runOnPlayerThread(player, () -> {
-                                if (!player.isOnline()) return;
-
-                                dlog.accept("[GATE EVAL] allowed=" + decision.allowed()
-                                        + " charged=" + decision.chargedAmount()
-                                        + " reasons=" + decision.reasons());
-
-                                if (decision.allowed()) {
-                                    if (gs.itemsConsumeOnPass && !decision.toConsume().isEmpty()) {
-                                        commitConsumption(player, decision.toConsume());
-                                    }
-                                    if (decision.chargedAmount().signum() > 0) {
-                                        throttledMsg(player.getUniqueId(), Msg.mm(
-                                                Msg.apply(messages.prefix + messages.charged,
-                                                        Map.of("amount", decision.chargedAmount().toPlainString()))
-                                        ));
-                                    }
-                                    allowNextTeleport.put(player.getUniqueId(), new Pass(worldName, tx, ty, tz));
-                                    safeTeleport(player, to); // now region-safe
-                                    dlog.accept("[TP] ALLOW -> " + worldName + " (token for " + tx + "," + ty + "," + tz + ")");
-                                } else {
-                                    // Deny: message first
-                                    sendDeniedCopy(player.getUniqueId(), alias, decision.reasons());
-
-                                    // (Optional) cause hints
-                                    if (cause == PlayerTeleportEvent.TeleportCause.NETHER_PORTAL && !messages.netherHint.isEmpty()) {
-                                        throttledMsg(player.getUniqueId(), Msg.mm(messages.prefix + messages.netherHint));
-                                    }
-                                    // End safety without touching blocks
-                                    if (cause == PlayerTeleportEvent.TeleportCause.END_GATEWAY) {
-                                        safeTeleport(player, fromLoc);
-                                    } else if (cause == PlayerTeleportEvent.TeleportCause.END_PORTAL) {
-                                        arcPushback(player, fromLoc);
-                                    }
-
-                                    dlog.accept("[TP] DENY -> " + worldName + " reasons=" + decision.reasons());
-                                }
-                            })
-                    )
-            );
+        // Fast path: decide inside the event (we're on the player's thread) unless economy must run
+        var attempt = engine.evaluateNow(player, worldName);
+        if (attempt.isFinal()) {
+            var decision = attempt.decision();
+            metrics.outcome(worldName, decision.allowed(), decision.reasonMask());
+            if (trace.on(player.getUniqueId(), worldName)) trace.log("[GATE NOW] allowed=" + decision.allowed()
+                    + " reasons=" + decision.reasons());
+            if (decision.allowed()) {
+                if (gs.itemsConsumeOnPass() && decision.consumeCount() > 0) {
+                    owedItems.put(player.getUniqueId(), new Owed(new Pass(worldName, tx, ty, tz), decision));
+                }
+                // the event was not cancelled on entry, so the teleport simply proceeds
+                metrics.time(GateMetrics.Stage.TOTAL, t0);
+                if (trace.on(player.getUniqueId(), worldName)) trace.log("[TP] ALLOW in-event -> " + worldName);
+                return; // teleport proceeds, no second teleport
+            }
+            e.setCancelled(true);
+            deny(player, worldName, alias, decision, cause, fromLoc);
+            metrics.time(GateMetrics.Stage.TOTAL, t0);
+            return;
+        }
+
+        // Economy pending: cancel, finish off-event, re-issue the teleport if allowed
+        e.setCancelled(true);
+        if (trace.on(player.getUniqueId(), worldName)) trace.log("[TP] economy pending -> " + worldName + " cause=" + cause);
+        final long te = metrics.now();
+        attempt.finish().thenAccept(decision -> {
+            metrics.time(GateMetrics.Stage.ECONOMY, te);
+            final long th = metrics.now();
+            runOnPlayerThread(player, () -> {
+                    metrics.time(GateMetrics.Stage.HOP, th);
+                    if (!player.isOnline()) return;
+                    metrics.outcome(worldName, decision.allowed(), decision.reasonMask());
+
+                    if (trace.on(player.getUniqueId(), worldName)) trace.log("[GATE EVAL] allowed=" + decision.allowed()
+                            + " charged=" + decision.chargedAmount()
+                            + " reasons=" + decision.reasons());
+
+                    if (decision.allowed()) {
+                        var pass = new Pass(worldName, tx, ty, tz);
+                        if (gs.itemsConsumeOnPass() && decision.consumeCount() > 0) {
+                            owedItems.put(player.getUniqueId(), new Owed(pass, decision));
+                        }
+                        if (decision.chargedAmount().signum() > 0) {
+                            send(player, new MessageOutbox.Batch().add(messages.charged, decision.chargedAmount().toPlainString()));
+                        }
+                        allowNextTeleport.put(player.getUniqueId(), pass);
+                        safeTeleport(player, to, t0); // now region-safe
+                        if (trace.on(player.getUniqueId(), worldName)) trace.log("[TP] ALLOW -> " + worldName + " (token for " + tx + "," + ty + "," + tz + ")");
+                    } else {
+                        deny(player, worldName, alias, decision, cause, fromLoc);
+                        metrics.time(GateMetrics.Stage.TOTAL, t0);
+                    }
+            });
         });
     }
 
+    /**
+     * Takes the key items once the teleport's outcome is final: a later HIGHEST listener may still
+     * cancel it after {@link #onTo} admitted it, and then nothing is owed.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onToSettled(PlayerTeleportEvent e) {
+        final Player player = e.getPlayer();
+        Owed owed = owedItems.get(player.getUniqueId());
+        if (owed == null) return;
+        var to = e.getTo(); if (to == null || to.getWorld() == null) return;
+        // only the teleport the items were owed for; unrelated teleports leave the entry alone
+        if (!owed.at().matches(to.getWorld().getName(), to.getBlockX(), to.getBlockY(), to.getBlockZ())) return;
+        owedItems.remove(player.getUniqueId());
+        if (e.isCancelled()) {
+            if (trace.on(player.getUniqueId(), owed.at().world)) trace.log("[TP] cancelled after admit -> items kept");
+            return;
+        }
+        commitConsumption(player, owed.plan());
+    }
+
+    private void deny(Player player, String worldName, String alias, RuleEngine.Decision decision,
+                      PlayerTeleportEvent.TeleportCause cause, Location fromLoc) {
+        // Deny: message first (one composite, incl. optional cause hint)
+        sendDeniedCopy(player, alias, decision.reasonMask(), cause);
+
+        // End safety without touching blocks
+        if (cause == PlayerTeleportEvent.TeleportCause.END_GATEWAY) {
+            safeTeleport(player, fromLoc);
+        } else if (cause == PlayerTeleportEvent.TeleportCause.END_PORTAL) {
+            arcPushback(player, fromLoc);
+        }
+
+        if (trace.on(player.getUniqueId(), worldName)) trace.log("[TP] DENY -> " + worldName + " reasons=" + decision.reasons());
+    }
+
     /* ===================== POST-GUARDS (backdoors) ===================== */
 
     @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
     public void onChangedWorld(PlayerChangedWorldEvent e) {
         final Player p = e.getPlayer();
-        final String w = p.getWorld().getName();
-        GateSummary gs = gateIndex.get(w);
-        if (gs == null || !gs.restricted) return;
+        final World world = p.getWorld();
+        final String w = world.getName();
+        if (!gate(world).restricted()) return;
 
         runGlobal(() ->
                 runOnPlayerThread(p, () ->
-                        engine.evaluate(p, w).thenAccept(decision ->
+                        engine.revalidate(p, w).thenAccept(decision ->
                                 runOnPlayerThread(p, () -> {
                                     if (!decision.allowed()) forceToFallback(p, w, "changedWorldBackdoor");
                                 })
@@ -318,16 +488,56 @@ public final class WorldGateListener implements Listener {
         );
     }
 
+    /**
+     * Decides a joining player's saved world before they are placed: a player denied there
+     * spawns at the fallback directly, instead of loading the restricted world's chunks and
+     * being teleported out after joining. A decision still waiting on economy is handed to
+     * {@link #onJoin}.
+     */
+    @SuppressWarnings("deprecation") // the async replacement has no Player to evaluate against
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onSpawn(PlayerSpawnLocationEvent e) {
+        final Player p = e.getPlayer();
+        final World world = e.getSpawnLocation().getWorld();
+        if (world == null || !gate(world).restricted()) return;
+        final String w = world.getName();
+
+        // placeholder lookups here resolve against the real player and fill its cache for later checks
+        var decision = engine.revalidateNow(p, w).finish();
+        var now = decision.isDone() && !decision.isCompletedExceptionally() ? decision.join() : null;
+        final Location fallback = fallbackSpawn;
+        boolean relocate = now != null && !now.allowed()
+                && fallback != null && fallback.getWorld() != null && !fallback.getWorld().getUID().equals(world.getUID());
+        if (relocate) e.setSpawnLocation(fallback.clone());
+        resolvedAtSpawn.put(p.getUniqueId(), new Resolved(w, decision, relocate));
+        if (trace.on(p.getUniqueId(), w)) trace.log("[SPAWN] " + p.getName() + " saved in " + w
+                + (now != null ? " allowed=" + now.allowed() : " economy pending")
+                + (relocate ? " -> " + fmtLoc(fallback) : ""));
+    }
+
     @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
     public void onJoin(PlayerJoinEvent e) {
         final Player p = e.getPlayer();
-        final String w = p.getWorld().getName();
-        GateSummary gs = gateIndex.get(w);
-        if (gs == null || !gs.restricted) return;
+        final World world = p.getWorld();
+        final String w = world.getName();
+
+        Resolved r = resolvedAtSpawn.remove(p.getUniqueId());
+        if (r != null && r.relocated()) {
+            send(p, new MessageOutbox.Batch().add(messages.forcedOut, null));
+            return;
+        }
+        if (!gate(world).restricted()) return;
+        if (r != null && r.world().equals(w)) {
+            r.decision().thenAccept(decision ->
+                    runOnPlayerThread(p, () -> {
+                        if (!decision.allowed()) forceToFallback(p, w, "loginBackdoor");
+                    }));
+            return;
+        }
 
         runGlobal(() ->
                 runOnPlayerThread(p, () ->
-                        engine.evaluate(p, w).thenAccept(decision ->
+                        engine.revalidate(p, w).thenAccept(decision ->
                                 runOnPlayerThread(p, () -> {
                                     if (!decision.allowed()) forceToFallback(p, w, "loginBackdoor");
                                 })
@@ -336,32 +546,29 @@ public final class WorldGateListener implements Listener {
         );
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        outbox.forget(e.getPlayer().getUniqueId());
+        resolvedAtSpawn.remove(e.getPlayer().getUniqueId());
+        owedItems.remove(e.getPlayer().getUniqueId());
+        sweeper.forget(e.getPlayer().getUniqueId());
+    }
+
     /* ===================== HELPERS ===================== */
 
-    private void commitConsumption(Player p, List<RuleEngine.Consume> plan) {
-        var inv = p.getInventory();
-        for (var c : plan) {
-            int slot = c.slot();
-            int take = c.amount();
-            ItemStack it = inv.getItem(slot);
-            if (it == null) continue;
-            int left = it.getAmount() - take;
-            if (left <= 0) inv.setItem(slot, null);
-            else { it.setAmount(left); inv.setItem(slot, it); }
-        }
-        p.updateInventory();
+    private void commitConsumption(Player p, RuleEngine.Decision plan) {
+        InventoryMatcher.consume(p, plan);
     }
 
-    private void sendDeniedCopy(UUID uuid, String alias, List<String> reasons) {
-        throttledMsg(uuid, Msg.mm(messages.prefix + Msg.apply(messages.denied, Map.of("world", alias))));
+    private void sendDeniedCopy(Player p, String alias, int reasons, PlayerTeleportEvent.TeleportCause cause) {
+        var batch = new MessageOutbox.Batch().add(messages.denied, alias);
         if (messages.showDenyReasons) {
-            for (String r : reasons) {
-                String line = messages.reasonLine(r);
-                if (line != null && !line.isEmpty()) {
-                    throttledMsg(uuid, Msg.mm(messages.prefix + line));
-                }
+            for (int m = reasons; m != 0; m &= m - 1) {
+                batch.add(messages.reasonLine(RuleEngine.Reason.byOrdinal(Integer.numberOfTrailingZeros(m))), null);
             }
         }
+        if (cause == PlayerTeleportEvent.TeleportCause.NETHER_PORTAL) batch.add(messages.netherHint, null);
+        send(p, batch);
     }
 
     /** Small arc-like pushback for End portal frames (no block access). */
@@ -381,7 +588,7 @@ public final class WorldGateListener implements Listener {
         final String wName = messages.fallbackWorld;
         final World w = Bukkit.getWorld(wName);
         if (w == null) {
-            dlog.accept("[BACKDOOR] No fallback configured; cannot move " + p.getName());
+            if (trace.on(p.getUniqueId(), fromWorld)) trace.log("[BACKDOOR] No fallback configured; cannot move " + p.getName());
             return;
         }
 
@@ -389,21 +596,23 @@ public final class WorldGateListener implements Listener {
             // Read spawn on the global region to avoid region assertions.
             Bukkit.getGlobalRegionScheduler().execute(plugin, () -> {
                 Location dest = w.getSpawnLocation(); // safe here
+                fallbackSpawn = dest.clone();
                 allowNextTeleport.put(p.getUniqueId(), new Pass(
                         dest.getWorld().getName(), dest.getBlockX(), dest.getBlockY(), dest.getBlockZ()));
                 safeTeleport(p, dest); // will hop to destination region
-                dlog.accept("[BACKDOOR] Forced " + p.getName() + " out of " + fromWorld + " -> "
+                if (trace.on(p.getUniqueId(), fromWorld)) trace.log("[BACKDOOR] Forced " + p.getName() + " out of " + fromWorld + " -> "
                         + fmtLoc(dest) + " (" + tag + ")");
-                throttledMsg(p.getUniqueId(), Msg.mm(messages.prefix + messages.forcedOut));
+                send(p, new MessageOutbox.Batch().add(messages.forcedOut, null));
             });
         } else {
             Location dest = w.getSpawnLocation();
+            fallbackSpawn = dest.clone();
             allowNextTeleport.put(p.getUniqueId(), new Pass(
                     dest.getWorld().getName(), dest.getBlockX(), dest.getBlockY(), dest.getBlockZ()));
             safeTeleport(p, dest);
-            dlog.accept("[BACKDOOR] Forced " + p.getName() + " out of " + fromWorld + " -> "
+            if (trace.on(p.getUniqueId(), fromWorld)) trace.log("[BACKDOOR] Forced " + p.getName() + " out of " + fromWorld + " -> "
                     + fmtLoc(dest) + " (" + tag + ")");
-            throttledMsg(p.getUniqueId(), Msg.mm(messages.prefix + messages.forcedOut));
+            send(p, new MessageOutbox.Batch().add(messages.forcedOut, null));
         }
     }
 
@@ -414,14 +623,9 @@ public final class WorldGateListener implements Listener {
 //        return w.getSpawnLocation();
 //    }
 
-    private void throttledMsg(UUID uuid, Component mm) {
-        String key = PlainTextComponentSerializer.plainText().serialize(mm);
-        LastMsg last = lastMsgs.get(uuid);
-        long now = System.currentTimeMillis();
-        if (last == null || !key.equals(last.msg) || (now - last.at) > MESSAGE_COOLDOWN_MS) {
-            safeSendMessage(uuid, mm);
-            lastMsgs.put(uuid, new LastMsg(key, now));
-        }
+    private void send(Player p, MessageOutbox.Batch batch) {
+        var m = messages;
+        outbox.send(p, batch, m.channel, m.repeatChannel);
     }
 
     private static String fmtLoc(Location l) {
@@ -0,0 +1,41 @@
+package com.alphine.mysticWorlds.service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived proof that a player was just allowed into a world.
+ * <p>
+ * One ticket per player (the most recent admission), bound to the world name and the
+ * config version it was granted under, so a reload voids every outstanding ticket.
+ * Post-entry guards (world change, rejoin) honour a live ticket instead of re-running
+ * the rules. Expired tickets are ignored and dropped by {@link #sweep()}.
+ */
+public final class AdmissionTickets {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private record Ticket(String world, long version, long expiresAt) {}
+
+    private final Map<UUID, Ticket> tickets = new ConcurrentHashMap<>();
+
+    public void issue(UUID uuid, String world, long version, int ttlSeconds) {
+        if (ttlSeconds <= 0) return;
+        tickets.put(uuid, new Ticket(world, version, System.nanoTime() + ttlSeconds * NANOS_PER_SECOND));
+    }
+
+    public boolean holds(UUID uuid, String world, long version) {
+        Ticket t = tickets.get(uuid);
+        return t != null && t.version() == version && t.world().equals(world)
+                && System.nanoTime() - t.expiresAt() < 0;
+    }
+
+    public void revoke(UUID uuid) { tickets.remove(uuid); }
+
+    public void sweep() {
+        long now = System.nanoTime();
+        tickets.values().removeIf(t -> now - t.expiresAt() >= 0);
+    }
+
+    public int size() { return tickets.size(); }
+}
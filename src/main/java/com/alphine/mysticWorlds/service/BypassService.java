@@ -2,56 +2,291 @@ package com.alphine.mysticWorlds.service;
 
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Bypass toggles, persisted write-behind.
+ * <p>
+ * Every change is queued and appended by a background writer to {@code bypass.journal}
+ * (17-byte records: op, msb, lsb). The journal is periodically folded into
+ * {@code bypass.snap} and truncated. Startup replays snapshot then journal; a legacy
+ * {@code bypass.txt} is imported once. {@link #flush()} blocks until queued ops are on disk.
+ */
 public final class BypassService {
+    private static final int SNAP_MAGIC = 0x4D574250; // "MWBP"
+    private static final int SNAP_VERSION = 1;
+    private static final int RECORD = 17;
+    private static final int SNAP_RECORD = 16;
+
+    private static final byte OP_OFF = 0, OP_ON = 1, OP_SYNC = 2, OP_CLOSE = 3;
+
+    private static final int MIN_COMPACT_OPS = 4096;
+    private static final long COMPACT_INTERVAL_MS = TimeUnit.MINUTES.toMillis(10);
+    private static final long FLUSH_TIMEOUT_MS = 5_000L;
+
+    private record Op(byte kind, long msb, long lsb, CountDownLatch done) {}
+
     private final JavaPlugin plugin;
     private final boolean remember;
     private final Set<UUID> enabled = ConcurrentHashMap.newKeySet();
-    private final File store;
+    private final File legacy, snapshot, journalFile;
+
+    private final LinkedBlockingQueue<Op> queue = new LinkedBlockingQueue<>();
+    private Thread writer;
+    private volatile boolean closed;
+
+    // writer-thread state
+    private FileChannel journal;
+    private final ByteBuffer buf = ByteBuffer.allocate(RECORD * 1024);
+    private long journalOps;
+    private long lastCompact = System.currentTimeMillis();
 
     public BypassService(JavaPlugin plugin, boolean remember) {
         this.plugin = plugin;
         this.remember = remember;
-        this.store = new File(plugin.getDataFolder(), "bypass.txt");
-        if (remember) load();
+        File dir = plugin.getDataFolder();
+        this.legacy = new File(dir, "bypass.txt");
+        this.snapshot = new File(dir, "bypass.snap");
+        this.journalFile = new File(dir, "bypass.journal");
+        if (remember) open();
     }
 
     public boolean toggle(UUID uuid) { return set(uuid, !enabled.contains(uuid)); }
     public boolean set(UUID uuid, boolean on) {
-        if (on) enabled.add(uuid); else enabled.remove(uuid);
-        if (remember) save();
+        boolean changed = on ? enabled.add(uuid) : enabled.remove(uuid);
+        if (changed && remember && !closed) {
+            queue.add(new Op(on ? OP_ON : OP_OFF, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), null));
+        }
         return on;
     }
     public boolean has(UUID uuid) { return enabled.contains(uuid); }
+    public int size() { return enabled.size(); }
 
-    private void load() {
-        try {
-            if (!store.exists()) return;
-            for (String line : Files.readAllLines(store.toPath())) {
-                try { enabled.add(UUID.fromString(line.trim())); } catch (Exception ignore) {}
+    /* ===================== bulk import / export ===================== */
+
+    /** Streams one UUID per line from {@code src}; blank/invalid lines are skipped. Returns lines applied. */
+    public long importFrom(Path src, boolean on) throws IOException {
+        long n = 0;
+        try (BufferedReader r = Files.newBufferedReader(src, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                try { set(UUID.fromString(line), on); n++; } catch (IllegalArgumentException ignore) {}
             }
-        } catch (Exception e) { plugin.getLogger().warning("Failed to load bypass store: "+e.getMessage()); }
+        }
+        return n;
     }
-    private void save() {
-        try {
-            store.getParentFile().mkdirs();
-            var lines = enabled.stream().map(UUID::toString).toList();
-            Files.write(store.toPath(), lines);
-        } catch (Exception e) { plugin.getLogger().warning("Failed to save bypass store: "+e.getMessage()); }
+
+    /** Writes every enabled UUID to {@code dst}, one per line. Returns count written. */
+    public long exportTo(Path dst) throws IOException {
+        long n = 0;
+        Path parent = dst.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (BufferedWriter w = Files.newBufferedWriter(dst, StandardCharsets.UTF_8)) {
+            for (UUID id : enabled) { w.write(id.toString()); w.newLine(); n++; }
+        }
+        return n;
     }
 
+    /* ===================== durability ===================== */
+
+    /** Blocks until everything queued so far is written and forced to disk. */
     public void flush() {
-        if (!remember) return;
+        if (!remember || writer == null) return;
+        await(OP_SYNC);
+    }
+
+    /** Flushes, compacts and stops the writer. Later toggles are kept in memory only. */
+    public void close() {
+        if (!remember || writer == null || closed) return;
+        closed = true;
+        await(OP_CLOSE);
+        try { writer.join(FLUSH_TIMEOUT_MS); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    }
+
+    private void await(byte kind) {
+        var done = new CountDownLatch(1);
+        queue.add(new Op(kind, 0L, 0L, done));
+        try {
+            if (!done.await(FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                plugin.getLogger().warning("Bypass store flush timed out; " + queue.size() + " ops pending.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* ===================== startup ===================== */
+
+    private void open() {
         try {
-            store.getParentFile().mkdirs();
-            var lines = enabled.stream().map(UUID::toString).toList();
-            Files.write(store.toPath(), lines);
-        } catch (Exception e) {
-            plugin.getLogger().warning("Failed to flush bypass store: " + e.getMessage());
+            Files.createDirectories(plugin.getDataFolder().toPath());
+            boolean hadSnapshot = snapshot.exists();
+            if (hadSnapshot) readSnapshot();
+            if (journalFile.exists()) replayJournal();
+            journal = FileChannel.open(journalFile.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            // drop a torn tail record so appends stay aligned
+            long aligned = journal.size() - (journal.size() % RECORD);
+            journal.truncate(aligned);
+            journal.position(aligned);
+            journalOps = aligned / RECORD;
+
+            if (!hadSnapshot && legacy.exists()) {
+                importLegacy();
+                compact();
+                Files.move(legacy.toPath(), new File(legacy.getParentFile(), "bypass.txt.migrated").toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to open bypass store: " + e.getMessage());
+            return;
+        }
+        writer = new Thread(this::runWriter, "MysticWorlds-BypassWriter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void readSnapshot() throws IOException {
+        try (FileChannel ch = FileChannel.open(snapshot.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(8);
+            if (ch.read(head) < 8) return;
+            head.flip();
+            if (head.getInt() != SNAP_MAGIC || head.getInt() != SNAP_VERSION) {
+                plugin.getLogger().warning("Ignoring unrecognised bypass snapshot " + snapshot.getName());
+                return;
+            }
+            ByteBuffer in = ByteBuffer.allocate(SNAP_RECORD * 1024);
+            while (ch.read(in) > 0 || in.position() > 0) {
+                in.flip();
+                while (in.remaining() >= SNAP_RECORD) enabled.add(new UUID(in.getLong(), in.getLong()));
+                if (in.hasRemaining() && ch.position() >= ch.size()) break; // torn tail
+                in.compact();
+            }
+        }
+    }
+
+    private void replayJournal() throws IOException {
+        try (FileChannel ch = FileChannel.open(journalFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer in = ByteBuffer.allocate(RECORD * 1024);
+            while (ch.read(in) > 0 || in.position() > 0) {
+                in.flip();
+                while (in.remaining() >= RECORD) {
+                    byte op = in.get();
+                    UUID id = new UUID(in.getLong(), in.getLong());
+                    if (op == OP_ON) enabled.add(id); else if (op == OP_OFF) enabled.remove(id);
+                }
+                if (in.hasRemaining() && ch.position() >= ch.size()) break; // torn tail
+                in.compact();
+            }
+        }
+    }
+
+    private void importLegacy() throws IOException {
+        try (BufferedReader r = Files.newBufferedReader(legacy.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                try { enabled.add(UUID.fromString(line.trim())); } catch (Exception ignore) {}
+            }
+        }
+    }
+
+    /* ===================== writer thread ===================== */
+
+    private void runWriter() {
+        List<Op> batch = new ArrayList<>(256);
+        boolean stop = false;
+        while (!stop) {
+            Op first;
+            try {
+                first = queue.poll(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (first != null) {
+                batch.add(first);
+                queue.drainTo(batch, 4095);
+            }
+            List<CountDownLatch> release = new ArrayList<>(1);
+            try {
+                for (Op op : batch) {
+                    switch (op.kind()) {
+                        case OP_ON, OP_OFF -> append(op);
+                        case OP_SYNC -> { drain(); journal.force(false); release.add(op.done()); }
+                        case OP_CLOSE -> { drain(); compact(); release.add(op.done()); stop = true; }
+                        default -> { }
+                    }
+                    if (stop) break;
+                }
+                drain();
+                if (!stop && shouldCompact()) compact();
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to write bypass store: " + e.getMessage());
+            } finally {
+                release.forEach(CountDownLatch::countDown);
+                batch.clear();
+            }
+        }
+        try { journal.close(); } catch (IOException ignore) {}
+    }
+
+    private void append(Op op) throws IOException {
+        if (buf.remaining() < RECORD) drain();
+        buf.put(op.kind()).putLong(op.msb()).putLong(op.lsb());
+        journalOps++;
+    }
+
+    private void drain() throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) journal.write(buf);
+        buf.clear();
+    }
+
+    private boolean shouldCompact() {
+        if (journalOps == 0) return false;
+        return journalOps >= Math.max(MIN_COMPACT_OPS, 2L * enabled.size())
+                || System.currentTimeMillis() - lastCompact >= COMPACT_INTERVAL_MS;
+    }
+
+    /**
+     * Writes the live set as a new snapshot and truncates the journal. Ops still queued were
+     * applied to the set before being queued, and replaying them later is idempotent.
+     */
+    private void compact() throws IOException {
+        Path tmp = new File(snapshot.getParentFile(), "bypass.snap.tmp").toPath();
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer b = ByteBuffer.allocate(SNAP_RECORD * 1024);
+            b.putInt(SNAP_MAGIC).putInt(SNAP_VERSION);
+            for (UUID id : enabled) {
+                if (b.remaining() < SNAP_RECORD) { b.flip(); while (b.hasRemaining()) out.write(b); b.clear(); }
+                b.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+            }
+            b.flip();
+            while (b.hasRemaining()) out.write(b);
+            out.force(true);
         }
+        Files.move(tmp, snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        journal.truncate(0);
+        journal.position(0);
+        journal.force(true);
+        journalOps = 0;
+        lastCompact = System.currentTimeMillis();
     }
 }
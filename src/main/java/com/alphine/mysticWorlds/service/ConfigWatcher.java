@@ -0,0 +1,84 @@
+package com.alphine.mysticWorlds.service;
+
+import org.bukkit.plugin.Plugin;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches one file and calls back once edits to it have been quiet for {@link #DEBOUNCE_MS},
+ * so an editor's save (often several writes, or write-and-rename) triggers a single reload.
+ * The callback runs on the watcher's daemon thread.
+ */
+public final class ConfigWatcher {
+    private static final long DEBOUNCE_MS = 750L;
+
+    private final Plugin plugin;
+    private final Path file;
+    private final Runnable onChange;
+    private WatchService watch;
+    private Thread thread;
+
+    public ConfigWatcher(Plugin plugin, Path file, Runnable onChange) {
+        this.plugin = plugin;
+        this.file = file;
+        this.onChange = onChange;
+    }
+
+    public synchronized boolean running() { return thread != null; }
+
+    public synchronized void start() {
+        if (thread != null) return;
+        try {
+            watch = file.getFileSystem().newWatchService();
+            file.getParent().register(watch, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not watch " + file.getFileName() + ": " + e.getMessage());
+            return;
+        }
+        final WatchService ws = watch;
+        thread = new Thread(() -> loop(ws), "MysticWorlds-ConfigWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        if (thread == null) return;
+        try { watch.close(); } catch (IOException ignore) {}
+        thread.interrupt();
+        thread = null;
+        watch = null;
+    }
+
+    private void loop(WatchService ws) {
+        try {
+            while (true) {
+                if (!touched(ws.take())) continue;
+                // absorb the rest of the save before reacting
+                WatchKey more;
+                while ((more = ws.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS)) != null) touched(more);
+                try {
+                    onChange.run();
+                } catch (RuntimeException e) {
+                    plugin.getLogger().warning("Config watch callback failed: " + e);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // stopped
+        }
+    }
+
+    private boolean touched(WatchKey key) {
+        boolean hit = false;
+        for (var ev : key.pollEvents()) {
+            if (ev.context() instanceof Path p && p.equals(file.getFileName())) hit = true;
+        }
+        key.reset();
+        return hit;
+    }
+}
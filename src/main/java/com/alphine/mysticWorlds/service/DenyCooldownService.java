@@ -1,21 +1,116 @@
 package com.alphine.mysticWorlds.service;
 
-import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Per (player, world) deny timestamps, safe to hit from any Folia region thread.
+ * <p>
+ * Entries are striped by player across small open-addressing tables of primitive arrays
+ * (no boxing, no per-entry objects) and stamped with {@link System#nanoTime()}. An entry
+ * older than the longest configured cooldown is dead: lookups ignore it and
+ * {@link #sweep()} / table growth drop it, so memory tracks recent denials only.
+ */
 public final class DenyCooldownService {
-    // player -> (world -> epochSecond)
-    private final Map<UUID, Map<String, Long>> lastDeny = new HashMap<>();
+    private static final int STRIPES = 16; // power of two
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private volatile long retentionNanos = 60 * NANOS_PER_SECOND;
+
+    public DenyCooldownService() {
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+    }
+
+    /** Longest cooldown any world uses; anything older can be forgotten. */
+    public void setRetentionSeconds(int seconds) {
+        this.retentionNanos = Math.max(1, seconds) * NANOS_PER_SECOND;
+    }
 
     public boolean isCooling(UUID uuid, String world, int cooldownSeconds) {
         if (cooldownSeconds <= 0) return false;
-        long now = Instant.now().getEpochSecond();
-        long last = lastDeny.getOrDefault(uuid, Map.of()).getOrDefault(world, 0L);
-        return now - last < cooldownSeconds;
+        long msb = uuid.getMostSignificantBits(), lsb = uuid.getLeastSignificantBits();
+        long at = stripe(msb, lsb).get(msb, lsb, world);
+        return at != Long.MIN_VALUE && System.nanoTime() - at < cooldownSeconds * NANOS_PER_SECOND;
     }
+
     public void mark(UUID uuid, String world) {
-        lastDeny.computeIfAbsent(uuid, k -> new HashMap<>()).put(world, Instant.now().getEpochSecond());
+        long msb = uuid.getMostSignificantBits(), lsb = uuid.getLeastSignificantBits();
+        stripe(msb, lsb).put(msb, lsb, world, System.nanoTime(), retentionNanos);
+    }
+
+    /** Drop expired entries; run periodically off the main thread. */
+    public void sweep() {
+        long now = System.nanoTime(), keep = retentionNanos;
+        for (Stripe s : stripes) s.sweep(now, keep);
+    }
+
+    public int size() {
+        int n = 0;
+        for (Stripe s : stripes) n += s.size();
+        return n;
+    }
+
+    private Stripe stripe(long msb, long lsb) {
+        return stripes[(int) mix(msb ^ lsb) & (STRIPES - 1)];
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33; h *= 0xff51afd7ed558ccdL; h ^= h >>> 33;
+        return h;
+    }
+
+    /** Linear-probing table; {@code worlds[i] == null} marks a free slot. Removal only by rebuild. */
+    private static final class Stripe {
+        private long[] msbs = new long[16], lsbs = new long[16], stamps = new long[16];
+        private String[] worlds = new String[16];
+        private int used;
+
+        synchronized long get(long msb, long lsb, String world) {
+            int mask = worlds.length - 1;
+            for (int i = slot(msb, lsb, world, mask); worlds[i] != null; i = (i + 1) & mask) {
+                if (msbs[i] == msb && lsbs[i] == lsb && worlds[i].equals(world)) return stamps[i];
+            }
+            return Long.MIN_VALUE;
+        }
+
+        synchronized void put(long msb, long lsb, String world, long stamp, long keepNanos) {
+            int mask = worlds.length - 1;
+            int i = slot(msb, lsb, world, mask);
+            for (; worlds[i] != null; i = (i + 1) & mask) {
+                if (msbs[i] == msb && lsbs[i] == lsb && worlds[i].equals(world)) { stamps[i] = stamp; return; }
+            }
+            msbs[i] = msb; lsbs[i] = lsb; worlds[i] = world; stamps[i] = stamp;
+            if (++used * 4 > worlds.length * 3) rebuild(stamp, keepNanos); // > 75% full
+        }
+
+        synchronized void sweep(long now, long keepNanos) {
+            if (used > 0) rebuild(now, keepNanos);
+        }
+
+        synchronized int size() { return used; }
+
+        /** Re-insert live entries; grow only if they still fill more than half the table. */
+        private void rebuild(long now, long keepNanos) {
+            int live = 0;
+            for (int i = 0; i < worlds.length; i++) if (worlds[i] != null && now - stamps[i] < keepNanos) live++;
+            int cap = 16;
+            while (cap < live * 2) cap <<= 1;
+
+            long[] om = msbs, ol = lsbs, os = stamps; String[] ow = worlds;
+            msbs = new long[cap]; lsbs = new long[cap]; stamps = new long[cap]; worlds = new String[cap];
+            used = 0;
+            int mask = cap - 1;
+            for (int j = 0; j < ow.length; j++) {
+                if (ow[j] == null || now - os[j] >= keepNanos) continue;
+                int i = slot(om[j], ol[j], ow[j], mask);
+                while (worlds[i] != null) i = (i + 1) & mask;
+                msbs[i] = om[j]; lsbs[i] = ol[j]; worlds[i] = ow[j]; stamps[i] = os[j];
+                used++;
+            }
+        }
+
+        private static int slot(long msb, long lsb, String world, int mask) {
+            return (int) mix(msb * 31 + lsb + world.hashCode()) & mask;
+        }
     }
 }
@@ -0,0 +1,265 @@
+package com.alphine.mysticWorlds.service;
+
+import com.alphine.mysticWorlds.engine.RuleEngine;
+import com.sun.net.httpserver.HttpServer;
+import org.bukkit.plugin.Plugin;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Gate counters, stage latency histograms and gauges.
+ * <p>
+ * Every counter is a {@link LongAdder} (striped per CPU), so region threads recording at
+ * once don't contend. Histograms use fixed nanosecond buckets. Nothing allocates on the
+ * record path once a world's counters exist. Exposed through {@code /mw stats} and, when
+ * enabled, a Prometheus text endpoint bound to the loopback address only.
+ */
+public final class GateMetrics {
+    /** Timed stages of one gate decision, event to teleport, plus background sweep checks. */
+    public enum Stage {
+        INDEX("index"), BYPASS("rule_bypass"), PERMISSION("rule_permission"), ITEMS("rule_items"),
+        PLACEHOLDER("rule_placeholder"), ECONOMY("economy"), HOP("hop_wait"), TELEPORT("teleport"),
+        TOTAL("total"), SWEEP("sweep_check");
+
+        public final String label;
+        Stage(String label) { this.label = label; }
+    }
+
+    /** Deny reasons, indexed like a decision's reason bits. */
+    private static final RuleEngine.Reason[] REASONS = RuleEngine.Reason.values();
+    private static final int MAX_WORLDS = 4096; // beyond this, attempts count under "_other"
+
+    // upper bounds in ns: 1µs .. 1s, then +Inf
+    private static final long[] BOUNDS = {
+            1_000L, 5_000L, 10_000L, 50_000L, 100_000L, 500_000L,
+            1_000_000L, 5_000_000L, 10_000_000L, 50_000_000L, 100_000_000L, 500_000_000L, 1_000_000_000L };
+
+    static final class Histogram {
+        final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+        final LongAdder sum = new LongAdder();
+        Histogram() { for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder(); }
+
+        void record(long nanos) {
+            int i = 0;
+            while (i < BOUNDS.length && nanos > BOUNDS[i]) i++;
+            buckets[i].increment();
+            sum.add(nanos);
+        }
+        long count() { long n = 0; for (var b : buckets) n += b.sum(); return n; }
+
+        /** Upper bound of the bucket holding quantile {@code q}; -1 when empty. */
+        long quantileBound(double q) {
+            long total = count();
+            if (total == 0) return -1;
+            long target = (long) Math.ceil(q * total), seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i].sum();
+                if (seen >= target) return i < BOUNDS.length ? BOUNDS[i] : Long.MAX_VALUE;
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+
+    static final class WorldCounters {
+        final LongAdder attempts = new LongAdder(), allowed = new LongAdder(), denied = new LongAdder();
+        final LongAdder[] reasons = new LongAdder[REASONS.length];
+        WorldCounters() { for (int i = 0; i < reasons.length; i++) reasons[i] = new LongAdder(); }
+    }
+
+    private record Gauge(String name, String help, LongSupplier value) {}
+
+    private volatile boolean enabled = true;
+    private final Histogram[] stages = new Histogram[Stage.values().length];
+    private final Map<String, WorldCounters> worlds = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private HttpServer http;
+    private ExecutorService httpExecutor;
+
+    public GateMetrics() {
+        for (int i = 0; i < stages.length; i++) stages[i] = new Histogram();
+    }
+
+    public void setEnabled(boolean on) { this.enabled = on; }
+    public boolean enabled() { return enabled; }
+
+    /** Start stamp for {@link #time}; 0 when metrics are off (so callers skip nothing). */
+    public long now() { return enabled ? System.nanoTime() : 0L; }
+
+    public void time(Stage stage, long startNanos) {
+        if (startNanos == 0L || !enabled) return;
+        stages[stage.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    public void attempt(String world) {
+        if (enabled) counters(world).attempts.increment();
+    }
+
+    /** @param reasonMask {@link RuleEngine.Reason} bits of a denial */
+    public void outcome(String world, boolean allowed, int reasonMask) {
+        if (!enabled) return;
+        var c = counters(world);
+        if (allowed) { c.allowed.increment(); return; }
+        c.denied.increment();
+        for (int m = reasonMask; m != 0; m &= m - 1) c.reasons[Integer.numberOfTrailingZeros(m)].increment();
+    }
+
+    /** Registers (or replaces) a size gauge, read only when rendered. */
+    public void gauge(String name, String help, LongSupplier value) {
+        gauges.put(name, new Gauge(name, help, value));
+    }
+
+    /** Current gauge readings, by name. */
+    public Map<String, Long> gaugeValues() {
+        Map<String, Long> out = new TreeMap<>();
+        gauges.forEach((n, g) -> out.put(n, g.value().getAsLong()));
+        return out;
+    }
+
+    public void reset() {
+        worlds.clear();
+        for (int i = 0; i < stages.length; i++) stages[i] = new Histogram();
+    }
+
+    private WorldCounters counters(String world) {
+        var c = worlds.get(world);
+        if (c != null) return c;
+        if (worlds.size() >= MAX_WORLDS) world = "_other";
+        return worlds.computeIfAbsent(world, k -> new WorldCounters());
+    }
+
+    /* ===================== views ===================== */
+
+    /** Human-readable lines for {@code /mw stats}. */
+    public List<String> summary() {
+        List<String> out = new ArrayList<>();
+        worlds.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().attempts.sum(), a.getValue().attempts.sum()))
+                .limit(10)
+                .forEach(e -> {
+                    var c = e.getValue();
+                    StringBuilder sb = new StringBuilder().append(e.getKey()).append(": attempts=").append(c.attempts.sum())
+                            .append(" allowed=").append(c.allowed.sum()).append(" denied=").append(c.denied.sum());
+                    for (int i = 0; i < REASONS.length; i++) {
+                        long n = c.reasons[i].sum();
+                        if (n > 0) sb.append(' ').append(REASONS[i].key).append('=').append(n);
+                    }
+                    out.add(sb.toString());
+                });
+        for (Stage s : Stage.values()) {
+            var h = stages[s.ordinal()];
+            long n = h.count();
+            if (n == 0) continue;
+            out.add(s.label + ": n=" + n + " avg=" + fmtNanos(h.sum.sum() / n)
+                    + " p50<=" + fmtNanos(h.quantileBound(0.50)) + " p99<=" + fmtNanos(h.quantileBound(0.99)));
+        }
+        gauges.values().stream().sorted((a, b) -> a.name().compareTo(b.name()))
+                .forEach(g -> out.add(g.name() + "=" + g.value().getAsLong()));
+        return out;
+    }
+
+    private static String fmtNanos(long ns) {
+        if (ns == Long.MAX_VALUE) return ">1s";
+        if (ns >= 1_000_000L) return (ns / 1_000_000L) + "ms";
+        if (ns >= 1_000L) return (ns / 1_000L) + "µs";
+        return ns + "ns";
+    }
+
+    /** Prometheus text exposition format 0.0.4. */
+    public String prometheus() {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append("# HELP mysticworlds_attempts_total Cross-world attempts seen by the gate.\n")
+          .append("# TYPE mysticworlds_attempts_total counter\n");
+        worlds.forEach((w, c) -> sample(sb, "mysticworlds_attempts_total", "world", w, c.attempts.sum()));
+        sb.append("# HELP mysticworlds_decisions_total Gate decisions by outcome.\n")
+          .append("# TYPE mysticworlds_decisions_total counter\n");
+        worlds.forEach((w, c) -> {
+            sb.append("mysticworlds_decisions_total{world=\"").append(esc(w)).append("\",outcome=\"allowed\"} ").append(c.allowed.sum()).append('\n');
+            sb.append("mysticworlds_decisions_total{world=\"").append(esc(w)).append("\",outcome=\"denied\"} ").append(c.denied.sum()).append('\n');
+        });
+        sb.append("# HELP mysticworlds_denials_total Denials by failing rule.\n")
+          .append("# TYPE mysticworlds_denials_total counter\n");
+        worlds.forEach((w, c) -> {
+            for (int i = 0; i < REASONS.length; i++) {
+                sb.append("mysticworlds_denials_total{world=\"").append(esc(w)).append("\",reason=\"")
+                  .append(REASONS[i].key).append("\"} ").append(c.reasons[i].sum()).append('\n');
+            }
+        });
+        sb.append("# HELP mysticworlds_stage_seconds Gate stage latency.\n")
+          .append("# TYPE mysticworlds_stage_seconds histogram\n");
+        for (Stage s : Stage.values()) {
+            var h = stages[s.ordinal()];
+            long cum = 0;
+            for (int i = 0; i < h.buckets.length; i++) {
+                cum += h.buckets[i].sum();
+                String le = i < BOUNDS.length ? Double.toString(BOUNDS[i] / 1e9) : "+Inf";
+                sb.append("mysticworlds_stage_seconds_bucket{stage=\"").append(s.label).append("\",le=\"").append(le).append("\"} ").append(cum).append('\n');
+            }
+            sb.append("mysticworlds_stage_seconds_sum{stage=\"").append(s.label).append("\"} ").append(h.sum.sum() / 1e9).append('\n');
+            sb.append("mysticworlds_stage_seconds_count{stage=\"").append(s.label).append("\"} ").append(cum).append('\n');
+        }
+        gauges.forEach((n, g) -> {
+            sb.append("# HELP mysticworlds_").append(n).append(' ').append(g.help()).append('\n');
+            sb.append("# TYPE mysticworlds_").append(n).append(" gauge\n");
+            sb.append("mysticworlds_").append(n).append(' ').append(g.value().getAsLong()).append('\n');
+        });
+        return sb.toString();
+    }
+
+    private static void sample(StringBuilder sb, String name, String label, String value, long n) {
+        sb.append(name).append('{').append(label).append("=\"").append(esc(value)).append("\"} ").append(n).append('\n');
+    }
+
+    private static String esc(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /* ===================== endpoint ===================== */
+
+    /** (Re)binds the endpoint on 127.0.0.1:{@code port}; {@code port <= 0} stops it. */
+    public synchronized void serve(Plugin plugin, int port) {
+        if (http != null && http.getAddress().getPort() == port) return; // unchanged across reloads
+        stopServing();
+        if (port <= 0) return;
+        try {
+            var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/metrics", ex -> {
+                byte[] body = prometheus().getBytes(StandardCharsets.UTF_8);
+                ex.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                ex.sendResponseHeaders(200, body.length);
+                try (OutputStream os = ex.getResponseBody()) { os.write(body); }
+            });
+            httpExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "MysticWorlds-Metrics");
+                t.setDaemon(true);
+                return t;
+            });
+            server.setExecutor(httpExecutor);
+            server.start();
+            http = server;
+            plugin.getLogger().info("Metrics endpoint on http://127.0.0.1:" + port + "/metrics");
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not bind metrics endpoint on port " + port + ": " + e.getMessage());
+        }
+    }
+
+    public synchronized void stopServing() {
+        if (http == null) return;
+        http.stop(0);
+        http = null;
+        httpExecutor.shutdownNow();
+        httpExecutor = null;
+    }
+}
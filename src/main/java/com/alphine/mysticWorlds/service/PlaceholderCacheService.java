@@ -0,0 +1,72 @@
+package com.alphine.mysticWorlds.service;
+
+import com.alphine.mysticWorlds.config.ConfigModel;
+import me.clip.placeholderapi.PlaceholderAPI;
+import org.bukkit.OfflinePlayer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Per-player PlaceholderAPI value cache.
+ * Values live for the placeholder's configured TTL and are dropped when the player quits.
+ */
+public final class PlaceholderCacheService {
+    private record Entry(String value, long expiresAt) {}
+
+    private volatile ConfigModel.PlaceholderCache settings = new ConfigModel.PlaceholderCache(true, 3000L, Map.of());
+    private final Map<UUID, Map<String, Entry>> byPlayer = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final BiFunction<OfflinePlayer, String, String> resolver;
+
+    // a lambda, not a method ref: PlaceholderAPI is a soft dependency and must only link on use
+    public PlaceholderCacheService() { this((p, text) -> PlaceholderAPI.setPlaceholders(p, text)); }
+
+    /** @param resolver placeholder expansion; PlaceholderAPI outside of benchmarks */
+    public PlaceholderCacheService(BiFunction<OfflinePlayer, String, String> resolver) {
+        this.resolver = resolver;
+    }
+
+    public void updateSettings(ConfigModel.PlaceholderCache s) {
+        this.settings = s;
+        byPlayer.clear(); // TTLs may have changed
+    }
+
+    /** Resolve every placeholder in one pass; result[i] belongs to placeholders[i]. */
+    public String[] resolveAll(OfflinePlayer p, List<String> placeholders) {
+        String[] out = new String[placeholders.size()];
+        var s = settings;
+        if (!s.enabled()) {
+            for (int i = 0; i < out.length; i++) out[i] = resolver.apply(p, placeholders.get(i));
+            return out;
+        }
+        long now = System.nanoTime();
+        Map<String, Entry> cache = byPlayer.computeIfAbsent(p.getUniqueId(), k -> new ConcurrentHashMap<>());
+        for (int i = 0; i < out.length; i++) {
+            String ph = placeholders.get(i);
+            Entry e = cache.get(ph);
+            if (e != null && now - e.expiresAt() < 0) {
+                hits.increment();
+                out[i] = e.value();
+                continue;
+            }
+            misses.increment();
+            String v = resolver.apply(p, ph);
+            long ttl = s.ttlMsFor(ph);
+            if (ttl > 0) cache.put(ph, new Entry(v, now + ttl * 1_000_000L));
+            out[i] = v;
+        }
+        return out;
+    }
+
+    public void evict(UUID uuid) { byPlayer.remove(uuid); }
+
+    public long hits() { return hits.sum(); }
+    public long misses() { return misses.sum(); }
+    public int trackedPlayers() { return byPlayer.size(); }
+}
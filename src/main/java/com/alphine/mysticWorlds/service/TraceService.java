@@ -0,0 +1,126 @@
+package com.alphine.mysticWorlds.service;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Debug tracing that costs one volatile read when off.
+ * <p>
+ * Call sites guard with {@link #on(UUID, String)} (or pass a {@link Supplier}) so no
+ * message string is built unless the trace is live for that player/world. Lines go into
+ * a bounded lock-free ring (drop-newest when full) and an async task drains it to the log,
+ * so region threads never block on console I/O.
+ */
+public final class TraceService {
+    private static final int CAPACITY = 4096;           // power of two
+    private static final int MASK = CAPACITY - 1;
+    private static final int DRAIN_MAX = 512;           // lines per appender run
+    private static final long DRAIN_PERIOD_MS = 250L;
+
+    /** Immutable trace scope; null filter = match anything. */
+    private record Scope(UUID player, String playerName, String world) {
+        boolean matches(UUID p, String w) {
+            if (player != null && !player.equals(p)) return false;
+            return world == null || world.equals(w);
+        }
+        String describe() {
+            if (player == null && world == null) return "all";
+            return (player != null ? "player=" + playerName : "")
+                    + (player != null && world != null ? " " : "")
+                    + (world != null ? "world=" + world : "");
+        }
+    }
+    private static final Scope ALL = new Scope(null, null, null);
+
+    private final Plugin plugin;
+    private volatile boolean enabled;
+    private volatile Scope scope = ALL;
+
+    private final AtomicReferenceArray<String> ring = new AtomicReferenceArray<>(CAPACITY);
+    private final AtomicLong head = new AtomicLong();   // next sequence to claim (producers)
+    private volatile long tail;                         // next sequence to read (appender only)
+    private final LongAdder dropped = new LongAdder();
+    private ScheduledTask appender;
+
+    public TraceService(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start() {
+        if (appender != null) return;
+        appender = Bukkit.getAsyncScheduler().runAtFixedRate(plugin, task -> drain(),
+                DRAIN_PERIOD_MS, DRAIN_PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /** Stop the appender and write out anything still buffered. */
+    public void stop() {
+        if (appender != null) { appender.cancel(); appender = null; }
+        drain();
+    }
+
+    /* ===================== gates ===================== */
+
+    public boolean enabled() { return enabled; }
+
+    /** True when a line about {@code player} entering/in {@code world} would be kept. */
+    public boolean on(UUID player, String world) {
+        return enabled && scope.matches(player, world);
+    }
+
+    /** Unscoped gate for lines with no player context (index, reload). */
+    public boolean on(String world) {
+        return enabled && scope.player == null && scope.matches(null, world);
+    }
+
+    /* ===================== producers ===================== */
+
+    /** Caller has already checked a gate. */
+    public void log(String line) {
+        for (;;) {
+            long h = head.get();
+            if (h - tail >= CAPACITY) { dropped.increment(); return; }
+            if (head.compareAndSet(h, h + 1)) { ring.set((int) (h & MASK), line); return; }
+        }
+    }
+
+    public void log(UUID player, String world, Supplier<String> line) {
+        if (on(player, world)) log(line.get());
+    }
+
+    /* ===================== scope control (/mysticworlds debug) ===================== */
+
+    public void enableAll() { scope = ALL; enabled = true; }
+    public void enableFor(UUID player, String name) { scope = new Scope(player, name, null); enabled = true; }
+    public void enableForWorld(String world) { scope = new Scope(null, null, world); enabled = true; }
+    public void disable() { enabled = false; scope = ALL; }
+
+    public String describe() {
+        return enabled ? "on (" + scope.describe() + ")" : "off";
+    }
+
+    /* ===================== appender ===================== */
+
+    private synchronized void drain() {
+        var log = plugin.getLogger();
+        long t = tail;
+        int n = 0;
+        while (n < DRAIN_MAX && t < head.get()) {
+            int idx = (int) (t & MASK);
+            String line = ring.getAndSet(idx, null);
+            if (line == null) break; // slot claimed but not yet written; pick it up next run
+            log.info("[DEBUG] " + line);
+            t++; n++;
+        }
+        tail = t;
+        long lost = dropped.sumThenReset();
+        if (lost > 0) log.warning("[DEBUG] trace buffer full, dropped " + lost + " line(s)");
+    }
+}
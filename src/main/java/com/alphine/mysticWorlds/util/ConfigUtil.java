@@ -1,8 +1,8 @@
 package com.alphine.mysticWorlds.util;
 
+import com.alphine.mysticWorlds.MysticWorlds;
 import com.alphine.mysticWorlds.config.ConfigModel;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -15,19 +15,19 @@ import java.util.Map;
 // TODO: ADD TO ENTIRE SYSTEM AS NEEDED
 public final class ConfigUtil {
 
-    private final JavaPlugin plugin;
+    private final MysticWorlds plugin;
 
     // Immutable view; replaced atomically on reload
     private volatile Snapshot snap = Snapshot.empty();
 
-    public ConfigUtil(JavaPlugin plugin) {
+    public ConfigUtil(MysticWorlds plugin) {
         this.plugin = plugin;
     }
 
     /** Call onEnable and whenever /reload (or your plugin reload) runs. */
     public void reload(ConfigModel model) {
         // Build a fresh snapshot from the live Bukkit config + model flags
-        var cfg = plugin.getConfig();
+        var cfg = plugin.liveConfig();
 
         String prefix = cfg.getString("messages.prefix", "");
 
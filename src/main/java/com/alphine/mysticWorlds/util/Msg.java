@@ -3,7 +3,12 @@ package com.alphine.mysticWorlds.util;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class Msg {
     private static final MiniMessage MM = MiniMessage.miniMessage();
@@ -18,4 +23,90 @@ public final class Msg {
         for (var e : vars.entrySet()) out = out.replace("{"+e.getKey()+"}", e.getValue());
         return out;
     }
-}
\ No newline at end of file
+
+    /**
+     * A MiniMessage template compiled once (on reload) with named, positional parameters.
+     * <p>
+     * {@code Template.compile("<red>Hi {world}</red>", "world").render("Nether")} substitutes
+     * then parses exactly like {@code mm(apply(...))}, but the split is done once and each
+     * rendered Component is cached per argument value (world alias, amount, ...).
+     * Placeholders not listed as parameters are left as literal text.
+     */
+    public static final class Template {
+        private static final AtomicInteger IDS = new AtomicInteger();
+        private static final int MAX_CACHED = 256; // distinct argument tuples kept per template
+
+        public final int id;
+        private final String[] parts;   // literal, param, literal, param, ..., literal
+        private final int[] paramAt;    // parts[2i+1] fills from args[paramAt[i]]
+        private final Component constant;
+        private final Map<String, Component> rendered = new ConcurrentHashMap<>();
+
+        private Template(String[] parts, int[] paramAt) {
+            this.id = IDS.incrementAndGet();
+            this.parts = parts;
+            this.paramAt = paramAt;
+            this.constant = paramAt.length == 0 ? mm(parts[0]) : null;
+        }
+
+        public static Template compile(String source, String... params) {
+            String src = source == null ? "" : source;
+            List<String> parts = new ArrayList<>();
+            List<Integer> at = new ArrayList<>();
+            StringBuilder lit = new StringBuilder();
+            int i = 0;
+            while (i < src.length()) {
+                int open = src.indexOf('{', i);
+                int close = open < 0 ? -1 : src.indexOf('}', open + 1);
+                if (close < 0) { lit.append(src, i, src.length()); break; }
+                int p = Arrays.asList(params).indexOf(src.substring(open + 1, close));
+                lit.append(src, i, open);
+                if (p < 0) { lit.append(src, open, close + 1); }
+                else { parts.add(lit.toString()); lit.setLength(0); parts.add(null); at.add(p); }
+                i = close + 1;
+            }
+            parts.add(lit.toString());
+            return new Template(parts.toArray(new String[0]), at.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        public boolean isEmpty() { return constant != null && parts[0].isEmpty(); }
+
+        public Component render() { return render(""); }
+
+        /** Single-parameter fast path: the argument itself is the cache key. */
+        public Component render(String arg) {
+            if (constant != null) return constant;
+            String key = arg == null ? "" : arg;
+            Component c = rendered.get(key);
+            return c != null ? c : store(key, new String[] { key });
+        }
+
+        public Component render(String... args) {
+            if (constant != null) return constant;
+            String key = String.join("\u0000", args);
+            Component c = rendered.get(key);
+            return c != null ? c : store(key, args);
+        }
+
+        private Component store(String key, String[] args) {
+            Component c = mm(substitute(args));
+            if (rendered.size() >= MAX_CACHED) rendered.clear();
+            rendered.put(key, c);
+            return c;
+        }
+
+        /** Cheap identity of (template, arg) for dedupe; no rendering or serialization. */
+        public long dedupeKey(String arg) {
+            return ((long) id << 32) | ((arg == null ? 0 : arg.hashCode()) & 0xFFFFFFFFL);
+        }
+
+        private String substitute(String[] args) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0, p = 0; i < parts.length; i++) {
+                if (parts[i] != null) sb.append(parts[i]);
+                else { int a = paramAt[p++]; sb.append(a < args.length && args[a] != null ? args[a] : ""); }
+            }
+            return sb.toString();
+        }
+    }
+}
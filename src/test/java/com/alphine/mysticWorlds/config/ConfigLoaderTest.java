@@ -0,0 +1,71 @@
+package com.alphine.mysticWorlds.config;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigLoaderTest {
+
+    private static ConfigModel load(String yaml) throws InvalidConfigurationException {
+        var cfg = new YamlConfiguration();
+        cfg.loadFromString(yaml);
+        return new ConfigLoader(null).load(cfg);
+    }
+
+    private static final String TEMPLATE = """
+            templates:
+              paid_entry:
+                rules:
+                  economy: {enabled: true, cost: 250, charge-timing: on-attempt}
+                  permission: {enabled: true, per-world-node: false, custom-node: vip.access}
+            """;
+
+    @Test
+    void childSettingOnlyEnabledKeepsTemplateKeys() throws Exception {
+        var rules = load(TEMPLATE + """
+                worlds:
+                  resort:
+                    extends: paid_entry
+                    rules:
+                      economy: {enabled: true}
+                      permission: {enabled: true}
+                """).effective("resort").rules();
+        assertTrue(rules.economy.enabled);
+        assertEquals(0, rules.economy.cost.compareTo(BigDecimal.valueOf(250)));
+        assertEquals("on-attempt", rules.economy.timing);
+        assertTrue(rules.permission.enabled);
+        assertEquals("vip.access", rules.permission.customNode);
+        assertFalse(rules.permission.perWorldNode);
+    }
+
+    @Test
+    void childKeysStillOverrideTemplate() throws Exception {
+        var rules = load(TEMPLATE + """
+                worlds:
+                  resort:
+                    extends: paid_entry
+                    rules:
+                      economy: {cost: 10}
+                """).effective("resort").rules();
+        assertTrue(rules.economy.enabled);
+        assertEquals(0, rules.economy.cost.compareTo(BigDecimal.TEN));
+    }
+
+    @Test
+    void plainEntryStillDefaultsOmittedKeys() throws Exception {
+        var rules = load("""
+                rules:
+                  economy: {enabled: false, cost: 99}
+                worlds:
+                  market:
+                    rules:
+                      economy: {enabled: true}
+                """).effective("market").rules();
+        assertTrue(rules.economy.enabled);
+        assertEquals(0, rules.economy.cost.signum());
+    }
+}
@@ -0,0 +1,49 @@
+package com.alphine.mysticWorlds.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldSelectorTest {
+
+    @Test
+    void alternationMatchesEveryBranch() {
+        WorldSelector s = WorldSelector.regex("arena_\\d+|lobby_.*");
+        assertArrayEquals(new String[]{"arena_3"}, s.match("arena_3"));
+        assertArrayEquals(new String[]{"lobby_1"}, s.match("lobby_1"));
+        assertNull(s.match("world"));
+    }
+
+    @Test
+    void alternationSelectorIsFoundThroughTheIndex() {
+        var m = new WorldMatcher(List.of(
+                WorldSelector.regex("arena_\\d+|lobby_.*"),
+                WorldSelector.glob("lobby_*")));
+        assertEquals(0, m.find("lobby_1").index());
+        assertEquals(0, m.find("arena_3").index());
+        assertNull(m.find("world"));
+    }
+
+    @Test
+    void quantifiedLastCharIsNotPartOfThePrefix() {
+        WorldSelector s = WorldSelector.regex("arenas?_\\d+");
+        assertNotNull(s.match("arena_1"));
+        assertNotNull(s.match("arenas_1"));
+    }
+
+    @Test
+    void captureGroupKeepsItsLiteralPrefix() {
+        var m = new WorldMatcher(List.of(WorldSelector.regex("arena_(\\d+)")));
+        assertArrayEquals(new String[]{"arena_7", "7"}, m.find("arena_7").captures());
+        assertNull(m.find("lobby_7"));
+    }
+
+    @Test
+    void alternationInsideAGroupIsNotTopLevel() {
+        var s = WorldSelector.regex("arena_(red|blue)");
+        assertNotNull(s.match("arena_blue"));
+        assertNull(s.match("blue"));
+    }
+}